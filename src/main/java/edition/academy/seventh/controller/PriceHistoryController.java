@@ -0,0 +1,57 @@
+package edition.academy.seventh.controller;
+
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
+import edition.academy.seventh.service.BookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Provides price history of single book, downsampled for charts. */
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+class PriceHistoryController {
+  private static final int MIN_POINTS = 3;
+  private static final int MAX_POINTS = 5000;
+  private final BookService bookService;
+
+  @Autowired
+  PriceHistoryController(BookService bookService) {
+    this.bookService = bookService;
+  }
+
+  /**
+   * Retrieves prices of book from given time range, downsampled to at most given number of points,
+   * so size of response does not depend on length of the history.
+   *
+   * @param href link to the book.
+   * @param from beginning of the range in ISO format, inclusive, whole history when omitted.
+   * @param to end of the range in ISO format, exclusive, whole history when omitted.
+   * @param maxPoints maximal number of prices, from {@value #MIN_POINTS} to {@value #MAX_POINTS}.
+   * @return {@code List<PriceAtTheMomentDto>} ordered by date, or bad request when number of
+   *     points is out of bounds.
+   */
+  @GetMapping("/priceHistory")
+  ResponseEntity<List<PriceAtTheMomentDto>> getPriceHistory(
+      @RequestParam("href") String href,
+      @RequestParam(value = "from", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(value = "maxPoints", defaultValue = "500") int maxPoints) {
+    if (maxPoints < MIN_POINTS || maxPoints > MAX_POINTS) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    return new ResponseEntity<>(
+        bookService.getPriceHistory(href, from, to, maxPoints), HttpStatus.OK);
+  }
+}
@@ -1,11 +1,8 @@
 package edition.academy.seventh.controller;
 
-import edition.academy.seventh.database.model.BookDto;
-import edition.academy.seventh.service.BookService;
-import edition.academy.seventh.service.PromotionProviderManager;
+import edition.academy.seventh.service.PromotionPipeline;
 import edition.academy.seventh.service.ProvidersNotFoundException;
 import java.io.IOException;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,13 +21,11 @@
 @CrossOrigin(origins = "*", maxAge = 3600)
 class RobotController {
   private static final Logger logger = LoggerFactory.getLogger(RobotController.class);
-  private PromotionProviderManager providerManager;
-  private BookService bookService;
+  private PromotionPipeline promotionPipeline;
 
   @Autowired
-  RobotController(PromotionProviderManager providerManager, BookService bookService) {
-    this.providerManager = providerManager;
-    this.bookService = bookService;
+  RobotController(PromotionPipeline promotionPipeline) {
+    this.promotionPipeline = promotionPipeline;
   }
 
   /**
@@ -65,8 +60,7 @@ private boolean startGatheringData() {
 
   private boolean getDataFromBookstores() {
     try {
-      List<BookDto> books = providerManager.getScrappedBooks();
-      bookService.addBooksToDatabase(books);
+      promotionPipeline.run();
     } catch (ProvidersNotFoundException e) {
       logger.error("Couldn't find any promotion provider " + e.getMessage());
     }
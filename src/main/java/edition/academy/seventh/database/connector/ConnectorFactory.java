@@ -24,4 +24,10 @@ public static ConnectorProvider of(DatabaseType type) {
         return POSTGRES_CONNECTOR;
     }
   }
+
+  /** Closes all connector providers, together with their connection pools. */
+  static void closeAll() {
+    H2_CONNECTOR.close();
+    POSTGRES_CONNECTOR.close();
+  }
 }
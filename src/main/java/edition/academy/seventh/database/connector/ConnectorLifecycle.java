@@ -0,0 +1,17 @@
+package edition.academy.seventh.database.connector;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ties lifetime of connector providers to application context. Entity manager factories and their
+ * connection pools are created on first use and kept open until the context is shut down.
+ */
+@Component
+class ConnectorLifecycle implements DisposableBean {
+
+  @Override
+  public void destroy() {
+    ConnectorFactory.closeAll();
+  }
+}
@@ -1,6 +1,10 @@
 package edition.academy.seventh.database.connector;
 
+import com.zaxxer.hikari.HikariPoolMXBean;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.stat.Statistics;
 
 /** @author Kamil Rojek */
 public interface ConnectorProvider {
@@ -12,8 +16,37 @@ public interface ConnectorProvider {
   EntityManager getEntityManager();
 
   /**
-   * Closes {@link javax.persistence.EntityManagerFactory} and all provided {@link
-   * javax.persistence.EntityManager entity managers}.
+   * Provides factory of entity managers, created on first use and shared until {@link #close()}.
+   *
+   * @return {@link EntityManagerFactory}
+   */
+  EntityManagerFactory getEntityManagerFactory();
+
+  /**
+   * Provides pooled data source used by {@link #getEntityManagerFactory() the factory}.
+   *
+   * @return {@link DataSource}
+   */
+  DataSource getDataSource();
+
+  /**
+   * Provides statistics of {@link javax.persistence.EntityManagerFactory}, including hits and
+   * misses of second-level and query caches.
+   *
+   * @return {@link Statistics}
+   */
+  Statistics getStatistics();
+
+  /**
+   * Provides metrics of connection pool, shared by all entity managers.
+   *
+   * @return {@link HikariPoolMXBean}
+   */
+  HikariPoolMXBean getPoolStatistics();
+
+  /**
+   * Closes {@link javax.persistence.EntityManagerFactory}, all provided {@link
+   * javax.persistence.EntityManager entity managers} and connection pool.
    */
   void close();
 }
@@ -1,22 +1,41 @@
 package edition.academy.seventh.database.connector;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Adapter for connection to database using {@link javax.persistence.EntityManager}.
+ * Adapter for connection to database using {@link javax.persistence.EntityManager}. Entities marked
+ * as {@link javax.persistence.Cacheable} are kept in in-process second-level cache, shared by all
+ * entity managers of the factory.
+ *
+ * <p>Connections are taken from pool owned by the connector, created together with the factory.
+ * Both live until {@link #close()}, called when application context is shut down, see {@link
+ * ConnectorLifecycle}. Within the context they are also used by Spring, see {@link
+ * PersistenceConfiguration}. Entity manager holds its connection until it is closed, so Spring's
+ * transactions can reset the same connection they prepared.
  *
  * @author Kamil Rojek
  */
 abstract class EntityConnector implements ConnectorProvider {
 
   private static final Logger logger = LoggerFactory.getLogger(EntityConnector.class);
+  static final int DEFAULT_POOL_SIZE = 10;
+  private static final String JDBC_PREFIX = "javax.persistence.jdbc.";
   private final String persistenceUnitName;
   private EntityManagerFactory entityManagerFactory;
+  private HikariDataSource dataSource;
 
   EntityConnector(final String persistenceUnitName) {
     this.persistenceUnitName = persistenceUnitName;
@@ -33,24 +52,128 @@ public final EntityManager getEntityManager() {
   }
 
   /**
-   * Closes current {@link javax.persistence.EntityManagerFactory} and all provided {@link
-   * javax.persistence.EntityManager entity managers}.
+   * Provides statistics of current {@link javax.persistence.EntityManagerFactory}.
+   *
+   * @return {@link Statistics}
    */
   @Override
-  public final void close() {
-    if (entityManagerFactory.isOpen()) {
+  public final Statistics getStatistics() {
+    return getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Provides metrics of connection pool: active, idle and total connections and threads awaiting
+   * one.
+   *
+   * @return {@link HikariPoolMXBean}
+   */
+  @Override
+  public final HikariPoolMXBean getPoolStatistics() {
+    return ((HikariDataSource) getDataSource()).getHikariPoolMXBean();
+  }
+
+  /**
+   * Closes current {@link javax.persistence.EntityManagerFactory}, all provided {@link
+   * javax.persistence.EntityManager entity managers} and connection pool. Does nothing when the
+   * factory has not been created yet.
+   */
+  @Override
+  public final synchronized void close() {
+    if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
       entityManagerFactory.close();
       logger.info("EntityManagerFactory has been closed");
     }
+    if (dataSource != null && !dataSource.isClosed()) {
+      dataSource.close();
+      logger.info("Connection pool " + dataSource.getPoolName() + " has been closed");
+    }
+  }
+
+  /**
+   * Provides data source of current {@link javax.persistence.EntityManagerFactory}.
+   *
+   * @return {@link com.zaxxer.hikari.HikariDataSource}
+   */
+  @Override
+  public final synchronized DataSource getDataSource() {
+    getEntityManagerFactory();
+    return dataSource;
   }
 
-  private EntityManagerFactory getEntityManagerFactory() {
+  /**
+   * Return entity manager factory based on persistence unit name, created together with its
+   * connection pool on first call.
+   *
+   * @return Entity manager factory.
+   */
+  @Override
+  public final synchronized EntityManagerFactory getEntityManagerFactory() {
     if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
       return entityManagerFactory;
     }
 
+    Map<String, Object> settings = new HashMap<>(loadCacheSettings());
+    settings.putAll(loadPersistenceSettings());
+    if (dataSource == null || dataSource.isClosed()) {
+      dataSource = createDataSource(settings);
+    }
+    settings.keySet().removeIf(key -> key.startsWith(JDBC_PREFIX));
+    settings.put("javax.persistence.nonJtaDataSource", dataSource);
+    settings.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD");
     return entityManagerFactory =
-        Persistence.createEntityManagerFactory(persistenceUnitName, loadPersistenceSettings());
+        Persistence.createEntityManagerFactory(persistenceUnitName, settings);
+  }
+
+  private HikariDataSource createDataSource(Map<String, Object> settings) {
+    Properties properties = new Properties();
+    properties.put("poolName", persistenceUnitName);
+    copySetting(settings, "driver", properties, "driverClassName");
+    copySetting(settings, "url", properties, "jdbcUrl");
+    copySetting(settings, "user", properties, "username");
+    copySetting(settings, "password", properties, "password");
+    properties.putAll(loadPoolSettings());
+    return new HikariDataSource(new HikariConfig(properties));
+  }
+
+  private static void copySetting(
+      Map<String, Object> settings, String jdbcKey, Properties properties, String poolKey) {
+    Object value = settings.get(JDBC_PREFIX + jdbcKey);
+    if (value != null) {
+      properties.put(poolKey, value);
+    }
+  }
+
+  /**
+   * Loads settings of connection pool, in terms of {@link HikariConfig}. Properties of driver's
+   * data source are prefixed with "dataSource.". By default pool holds fixed number of {@value
+   * #DEFAULT_POOL_SIZE} connections.
+   *
+   * @return {@code Map<String, String>} pool properties.
+   */
+  Map<String, String> loadPoolSettings() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put("maximumPoolSize", String.valueOf(DEFAULT_POOL_SIZE));
+    settings.put("minimumIdle", String.valueOf(DEFAULT_POOL_SIZE));
+    return settings;
+  }
+
+  /**
+   * Loads settings of second-level and query caches, backed by Ehcache through JCache. Child
+   * database properties take precedence over them.
+   *
+   * @return {@code Map<String, String>} cache properties.
+   */
+  Map<String, String> loadCacheSettings() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+    settings.put("hibernate.cache.use_second_level_cache", "true");
+    settings.put("hibernate.cache.use_query_cache", "true");
+    settings.put("hibernate.cache.region.factory_class", "jcache");
+    settings.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+    settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
+    settings.put("hibernate.generate_statistics", "true");
+    settings.put("hibernate.session.events.log", "false");
+    return settings;
   }
 
   /**
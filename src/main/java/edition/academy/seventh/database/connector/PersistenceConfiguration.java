@@ -0,0 +1,68 @@
+package edition.academy.seventh.database.connector;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Exposes {@link javax.persistence.EntityManagerFactory} and pooled {@link DataSource} of chosen
+ * {@link ConnectorProvider} as the only ones of application context, so Spring Boot does not
+ * configure its own. Repositories use shared {@link EntityManager}, bound to the current {@link
+ * org.springframework.transaction.annotation.Transactional transaction}. Read-only transactions
+ * are not flushed and run on read-only connections.
+ *
+ * <p>Connector's factory and pool are closed by {@link ConnectorLifecycle}, not by the beans.
+ */
+@Configuration
+@EnableTransactionManagement
+class PersistenceConfiguration {
+
+  @Bean(destroyMethod = "")
+  ConnectorProvider connectorProvider(
+      @Value("${robot.database:POSTGRESQL}") DatabaseType databaseType) {
+    return ConnectorFactory.of(databaseType);
+  }
+
+  @Bean(destroyMethod = "")
+  EntityManagerFactory entityManagerFactory(ConnectorProvider connectorProvider) {
+    return connectorProvider.getEntityManagerFactory();
+  }
+
+  @Bean(destroyMethod = "")
+  DataSource dataSource(ConnectorProvider connectorProvider) {
+    return connectorProvider.getDataSource();
+  }
+
+  @Bean
+  EntityManager entityManager(EntityManagerFactory entityManagerFactory) {
+    return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+  }
+
+  /**
+   * Translates exceptions of Hibernate into Spring's {@link
+   * org.springframework.dao.DataAccessException} for transactions and {@link
+   * org.springframework.stereotype.Repository repositories}.
+   *
+   * @return {@link HibernateJpaDialect}
+   */
+  @Bean
+  HibernateJpaDialect jpaDialect() {
+    return new HibernateJpaDialect();
+  }
+
+  @Bean
+  PlatformTransactionManager transactionManager(
+      EntityManagerFactory entityManagerFactory, HibernateJpaDialect jpaDialect) {
+    JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+    transactionManager.setJpaDialect(jpaDialect);
+    return transactionManager;
+  }
+}
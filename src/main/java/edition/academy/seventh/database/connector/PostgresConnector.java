@@ -22,7 +22,31 @@ final Map<String, String> loadPersistenceSettings() {
     settings.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQL95Dialect");
     settings.put("hibernate.show_sql", "true");
     settings.put("hibernate.hbm2ddl.auto", "update");
+    settings.put("hibernate.jdbc.batch_size", "50");
+    settings.put("hibernate.order_inserts", "true");
+    settings.put("hibernate.order_updates", "true");
+    settings.put("hibernate.jdbc.batch_versioned_data", "true");
 
     return settings;
   }
+
+  /**
+   * Sizes the pool by DB_POOL_SIZE environment variable. Statements executed repeatedly are
+   * prepared on the server and cached per connection, and batched inserts are sent as multi-row
+   * statements.
+   *
+   * @return {@code Map<String, String>} pool properties.
+   */
+  @Override
+  final Map<String, String> loadPoolSettings() {
+    Map<String, String> settings = super.loadPoolSettings();
+    String poolSize = credentials.getOrDefault("DB_POOL_SIZE", String.valueOf(DEFAULT_POOL_SIZE));
+    settings.put("maximumPoolSize", poolSize);
+    settings.put("minimumIdle", poolSize);
+    settings.put("dataSource.prepareThreshold", "3");
+    settings.put("dataSource.preparedStatementCacheQueries", "512");
+    settings.put("dataSource.preparedStatementCacheSizeMiB", "16");
+    settings.put("dataSource.reWriteBatchedInserts", "true");
+    return settings;
+  }
 }
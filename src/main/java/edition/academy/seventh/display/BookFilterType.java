@@ -6,64 +6,44 @@
 
 /**
  * Available {@link Pagination} book filters. Each {@code Enum constant} implements value
- * initialized with native SQL query adequates to the name meaning.
+ * initialized with native SQL query adequates to the name meaning. Queries sort {@code
+ * current_offer} table by its indexed columns, pages are cut from them by the database.
  *
  * @author Kamil Rojek
  */
 public enum BookFilterType implements Filter {
 
   /** Sorts in ascending manner books by ID. */
-  DEFAULT("SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY hyperlink)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end"),
+  DEFAULT("SELECT * FROM current_offer ORDER BY hyperlink"),
 
   /** Sorts in ascending manner books by promotional price. */
   PROMOTIONAL_PRICE_ASCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY promotional_price)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY promotional_price, hyperlink",
       Comparator.comparing(BookDto::getPromotionalPrice)),
 
   /** Sorts in descending manner books by promotional price. */
   PROMOTIONAL_PRICE_DESCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY promotional_price DESC)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY promotional_price DESC, hyperlink DESC",
       Comparator.comparing(BookDto::getPromotionalPrice, Comparator.reverseOrder())),
 
   /** Sorts in ascending manner books by retail price. */
   PRICE_ASCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY retail_price)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY retail_price, hyperlink",
       Comparator.comparing(BookDto::getRetailPrice)),
 
   /** Sorts in descending manner books by retail price. */
   PRICE_DESCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY retail_price DESC)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY retail_price DESC, hyperlink DESC",
       Comparator.comparing(BookDto::getRetailPrice, Comparator.reverseOrder())),
 
   /** Sorts in ascending manner books by title. */
   TITLE_ASCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY title)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY title, hyperlink",
       Comparator.comparing(BookDto::getTitle)),
 
   /** Sorts in descending manner books by title. */
   TITLE_DESCENDING(
-      "SELECT * FROM ("
-          + "  SELECT *, ROW_NUMBER () OVER (ORDER BY title DESC)"
-          + "  FROM bookstore_book"
-          + ") x WHERE ROW_NUMBER BETWEEN :start AND :end",
+      "SELECT * FROM current_offer ORDER BY title DESC, hyperlink DESC",
       Comparator.comparing(BookDto::getTitle, Comparator.reverseOrder()));
 
   /** Returns {@code Enum constant} variable. */
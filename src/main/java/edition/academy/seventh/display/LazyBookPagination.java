@@ -1,8 +1,9 @@
 package edition.academy.seventh.display;
 
-import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.database.model.BookDto;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 /**
@@ -20,8 +21,10 @@ public class LazyBookPagination implements Pagination<BookDto> {
   private List<BookDto> currentBooks;
   private LazyBookPaginationRepositoryHandler paginationRepositoryHandler;
 
-  public LazyBookPagination(ConnectorProvider connectorProvider) {
-    this.paginationRepositoryHandler = new LazyBookPaginationRepositoryHandler(connectorProvider);
+  public LazyBookPagination(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.paginationRepositoryHandler =
+        new LazyBookPaginationRepositoryHandler(entityManager, transactionManager);
   }
 
   /** {@inheritDoc} */
@@ -1,19 +1,25 @@
 package edition.academy.seventh.display;
 
-import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.database.model.BookDto;
-import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import edition.academy.seventh.repository.ModelParserIntoBookDtos;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 
 import static edition.academy.seventh.display.PaginationSize.TWENTY;
-import static edition.academy.seventh.repository.ModelParserIntoBookDtos.parseBookstoreBooksIntoBookDtos;
 
-/** @author Kamil Rojek */
+/**
+ * Queries single page of books' current offers in read-only transaction.
+ *
+ * @author Kamil Rojek
+ */
 class LazyBookPaginationRepositoryHandler {
   BookFilterType bookFilterType = BookFilterType.DEFAULT;
-  private ConnectorProvider connectorProvider;
+  private EntityManager entityManager;
+  private TransactionTemplate readTransaction;
   private PaginationSize paginationSize;
   private long startingRecord;
   private long endingRecord;
@@ -22,15 +28,16 @@ class LazyBookPaginationRepositoryHandler {
     initializePaginationValues(TWENTY);
   }
 
-  LazyBookPaginationRepositoryHandler(ConnectorProvider connectorProvider) {
-    this.connectorProvider = connectorProvider;
+  LazyBookPaginationRepositoryHandler(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
   }
 
   List<BookDto> getBooksPaginated() {
-    EntityManager entityManager = connectorProvider.getEntityManager();
-    List<BookstoreBook> resultList = filter(entityManager);
-
-    return parseBookstoreBooksIntoBookDtos(resultList);
+    return readTransaction.execute(
+        status -> ModelParserIntoBookDtos.parseCurrentOffersIntoBookDtos(filter()));
   }
 
   List<BookDto> nextPage() {
@@ -61,11 +68,11 @@ private void initializePaginationValues(PaginationSize paginationSize) {
     endingRecord = this.paginationSize.value;
   }
 
-  private List<BookstoreBook> filter(EntityManager entityManager) {
+  private List<CurrentOffer> filter() {
     return entityManager
-        .createNativeQuery(bookFilterType.query, BookstoreBook.class)
-        .setParameter("start", startingRecord)
-        .setParameter("end", endingRecord)
+        .createNativeQuery(bookFilterType.query, CurrentOffer.class)
+        .setFirstResult((int) startingRecord - 1)
+        .setMaxResults((int) (endingRecord - startingRecord + 1))
         .getResultList();
   }
 }
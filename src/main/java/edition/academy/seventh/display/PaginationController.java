@@ -1,7 +1,8 @@
 package edition.academy.seventh.display;
 
-import edition.academy.seventh.database.connector.DatabaseType;
 import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.BookService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,9 +19,14 @@
 class PaginationController {
   private Pagination<BookDto> pagination;
 
-  /** Instantiate pagination object. */
-  PaginationController() {
-    this.pagination = PaginationFactory.createEagerBookPagination();
+  /**
+   * Instantiate pagination object.
+   *
+   * @param bookService retrieving books to paginate.
+   */
+  @Autowired
+  PaginationController(BookService bookService) {
+    this.pagination = PaginationFactory.createEagerBookPagination(bookService);
   }
 
   /**
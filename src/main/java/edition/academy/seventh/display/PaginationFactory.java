@@ -1,11 +1,10 @@
 package edition.academy.seventh.display;
 
-import edition.academy.seventh.database.connector.ConnectorFactory;
-import edition.academy.seventh.database.connector.DatabaseType;
 import edition.academy.seventh.database.model.BookDto;
-import edition.academy.seventh.repository.BookDtoParser;
-import edition.academy.seventh.repository.BookRepository;
 import edition.academy.seventh.service.BookService;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
 
 /**
  * Obtains an instance of specific implementation of {@link Pagination} API.
@@ -14,30 +13,25 @@
  */
 class PaginationFactory {
 
-  private static BookRepository bookRepository;
-  private static BookDtoParser parser;
-
-  static {
-    parser = new BookDtoParser(null);
-    bookRepository = new BookRepository(parser);
-    parser.setRepository(bookRepository);
-  }
-
   /**
    * Creates eager book pagination object.
    *
+   * @param bookService retrieving all books at once.
    * @return {@link EagerBookPagination}.
    */
-  static Pagination<BookDto> createEagerBookPagination() {
-    return new EagerBookPagination(new BookService(bookRepository));
+  static Pagination<BookDto> createEagerBookPagination(BookService bookService) {
+    return new EagerBookPagination(bookService);
   }
 
   /**
    * Creates lazy book pagination object.
    *
+   * @param entityManager shared, bound to transaction of current thread.
+   * @param transactionManager of the entity manager's factory.
    * @return {@link LazyBookPagination}.
    */
-  static Pagination<BookDto> createLazyBookPagination(DatabaseType databaseType) {
-    return new LazyBookPagination(ConnectorFactory.of(databaseType));
+  static Pagination<BookDto> createLazyBookPagination(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    return new LazyBookPagination(entityManager, transactionManager);
   }
 }
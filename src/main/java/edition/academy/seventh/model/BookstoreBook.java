@@ -1,7 +1,9 @@
 package edition.academy.seventh.model;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -28,7 +30,10 @@ public class BookstoreBook {
   @JoinColumns({@JoinColumn(name = "author"), @JoinColumn(name = "title")})
   private Book book;
 
-  @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "bookstoreBook")
+  @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "bookstoreBook")
+  @OrderBy("date ASC, id ASC")
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
   private List<PriceAtTheMoment> priceHistories = new ArrayList<>();
 
   public PriceAtTheMoment getLastElementOfPriceHistories() {
@@ -0,0 +1,62 @@
+package edition.academy.seventh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Latest offer of {@link BookstoreBook}, denormalized into single row. It is updated in the same
+ * transaction as price history, so listing and sorting of books does not need to join the tables.
+ * Indexes cover every order of {@link edition.academy.seventh.display.BookFilterType}, with
+ * hyperlink breaking ties.
+ */
+@Entity(name = "current_offer")
+@Table(
+    name = "current_offer",
+    indexes = {
+      @Index(name = "current_offer_title_idx", columnList = "title, hyperlink"),
+      @Index(name = "current_offer_retail_price_idx", columnList = "retail_price, hyperlink"),
+      @Index(
+          name = "current_offer_promotional_price_idx",
+          columnList = "promotional_price, hyperlink")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentOffer {
+
+  @Id
+  @Column(name = "hyperlink", length = 300, nullable = false)
+  private String hyperlink;
+
+  @Column(name = "title")
+  private String title;
+
+  @Column(name = "subtitle")
+  private String subtitle;
+
+  @Column(name = "author")
+  private String author;
+
+  @Column(name = "image_link")
+  private String imageLink;
+
+  @Column(name = "bookstore")
+  private String bookstoreName;
+
+  @Column(name = "retail_price")
+  private BigDecimal retailPrice;
+
+  @Column(name = "promotional_price")
+  private BigDecimal promotionalPrice;
+
+  @Column(name = "currency")
+  private String currency;
+
+  @Column(name = "last_seen")
+  private LocalDateTime lastSeen;
+}
@@ -0,0 +1,45 @@
+package edition.academy.seventh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import java.math.BigDecimal;
+
+/**
+ * Prices of {@link BookstoreBook} during single day, rolled up from {@link PriceAtTheMoment price
+ * history} older than its retention window. Holds the lowest, the highest and the last price of
+ * the day.
+ */
+@Entity(name = "daily_price")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyPrice {
+
+  @EmbeddedId private DailyPriceId dailyPriceId;
+
+  @Column(name = "min_retail_price")
+  private BigDecimal minRetailPrice;
+
+  @Column(name = "max_retail_price")
+  private BigDecimal maxRetailPrice;
+
+  @Column(name = "min_promotional_price")
+  private BigDecimal minPromotionalPrice;
+
+  @Column(name = "max_promotional_price")
+  private BigDecimal maxPromotionalPrice;
+
+  @Column(name = "retail_price")
+  private BigDecimal retailPrice;
+
+  @Column(name = "promotional_price")
+  private BigDecimal promotionalPrice;
+
+  @Column(name = "currency")
+  private String currency;
+}
@@ -0,0 +1,23 @@
+package edition.academy.seventh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyPriceId implements Serializable {
+
+  @Column(name = "bookstoreBook_id", length = 300)
+  private String hyperlink;
+
+  @Column(name = "date")
+  private LocalDate date;
+}
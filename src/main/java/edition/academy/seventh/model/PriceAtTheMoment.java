@@ -8,14 +8,31 @@
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-/** @author Agnieszka Trzewik */
+/**
+ * Price of {@link BookstoreBook} since given date. Ids are taken from sequence in pools of {@value
+ * #ID_ALLOCATION_SIZE}, so inserts of whole ingest batch are sent in JDBC batches.
+ *
+ * @author Agnieszka Trzewik
+ */
 @Entity(name = "price_at_the_moment")
+@Table(
+    name = "price_at_the_moment",
+    indexes = {
+      @Index(name = "price_at_the_moment_book_date_idx", columnList = "bookstoreBook_id, date")
+    })
 @Data
 @NoArgsConstructor
 public class PriceAtTheMoment {
 
+  public static final String ID_SEQUENCE = "price_at_the_moment_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(
+      name = ID_SEQUENCE,
+      sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "id", nullable = false)
   @FieldNameConstants.Exclude
   private Long id;
@@ -7,10 +7,15 @@
 import edition.academy.seventh.model.BookId;
 import edition.academy.seventh.model.Bookstore;
 import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import edition.academy.seventh.model.DailyPrice;
 import edition.academy.seventh.model.PriceAtTheMoment;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -43,30 +48,50 @@ public void setRepository(BookRepository repository) {
    * @return {@link BookstoreBookDto } with price history
    */
   BookstoreBookDto parseBookstoreBookIntoBookstoreBookDto(BookstoreBook bookstoreBook) {
+    return parseBookstoreBookIntoBookstoreBookDto(bookstoreBook, List.of());
+  }
+
+  /**
+   * Parses given {@link BookstoreBook} into a DTO, with price history preceded by prices rolled up
+   * into {@link DailyPrice daily prices}. Every day is represented by its last price.
+   *
+   * @param bookstoreBook to parse
+   * @param dailyPrices of the bookstore book, older than its price history
+   * @return {@link BookstoreBookDto } with price history
+   */
+  BookstoreBookDto parseBookstoreBookIntoBookstoreBookDto(
+      BookstoreBook bookstoreBook, List<DailyPrice> dailyPrices) {
 
     List<PriceAtTheMoment> priceHistories = bookstoreBook.getPriceHistories();
     List<PriceAtTheMomentDto> priceAtTheMomentDtos =
-        priceHistories.stream().map(this::createPriceAtTheMomentDto).collect(Collectors.toList());
+        Stream.concat(
+                dailyPrices.stream().map(this::parseDailyPriceIntoPriceAtTheMomentDto),
+                priceHistories.stream().map(this::createPriceAtTheMomentDto))
+            .collect(Collectors.toList());
 
     return createBookstoreBookDto(bookstoreBook, priceAtTheMomentDtos);
   }
 
   /**
-   * Creates all required records. Tries to find specific ones in a database, if they do exist
-   * updates them, otherwise creates new ones.
+   * Creates all required records for whole batch of books. Existing entities are looked up in
+   * identity map of current ingest, if they do exist updates them, otherwise creates new ones.
    *
-   * @param bookDto to be parsed into model.
+   * @param bookDtos to be parsed into model.
+   * @param identityMap of entities existing in database, preloaded for current ingest.
    */
-  void parseBookDtoIntoModel(BookDto bookDto) {
+  void parseBookDtosIntoModel(List<BookDto> bookDtos, IngestIdentityMap identityMap) {
+    bookDtos.stream()
+        .map(this::createModel)
+        .forEach(bookstoreBook -> saveOrUpdateModel(bookstoreBook, identityMap));
+  }
+
+  private BookstoreBook createModel(BookDto bookDto) {
     Book book = createBook(bookDto);
     Bookstore bookstore = createBookstore(bookDto);
     BookstoreBook bookstoreBook = createBookstoreBook(bookDto, book, bookstore);
     PriceAtTheMoment priceAtTheMoment = createPriceAtTheMoment(bookDto, bookstoreBook);
     bookstoreBook.getPriceHistories().add(priceAtTheMoment);
-
-    EntitiesInDatabase entitiesInDatabase = findEntitiesInDatabase(bookstoreBook);
-
-    saveOrUpdateModel(bookstore, bookstoreBook, book, entitiesInDatabase);
+    return bookstoreBook;
   }
 
   private PriceAtTheMomentDto createPriceAtTheMomentDto(PriceAtTheMoment priceHistory) {
@@ -77,6 +102,20 @@ private PriceAtTheMomentDto createPriceAtTheMomentDto(PriceAtTheMoment priceHist
         priceHistory.getDate());
   }
 
+  /**
+   * Parses given {@link DailyPrice} into DTO of its last price, dated by beginning of the day.
+   *
+   * @param dailyPrice to parse
+   * @return {@link PriceAtTheMomentDto} of the last price of the day
+   */
+  PriceAtTheMomentDto parseDailyPriceIntoPriceAtTheMomentDto(DailyPrice dailyPrice) {
+    return new PriceAtTheMomentDto(
+        dailyPrice.getRetailPrice(),
+        dailyPrice.getPromotionalPrice(),
+        dailyPrice.getCurrency(),
+        dailyPrice.getDailyPriceId().getDate().atStartOfDay());
+  }
+
   private BookstoreBookDto createBookstoreBookDto(
       BookstoreBook bookstoreBook, List<PriceAtTheMomentDto> priceAtTheMomentDtos) {
     return new BookstoreBookDto(
@@ -89,27 +128,6 @@ private BookstoreBookDto createBookstoreBookDto(
         priceAtTheMomentDtos);
   }
 
-  /**
-   * Creates new instance of metadata {@link EntitiesInDatabase} that holds information about {@link
-   * BookstoreBook}, {@link Book}, {@link Bookstore}.
-   *
-   * @param bookstoreBook based on it, BookstoreBook entity values are searched in database.
-   * @return {@link EntitiesInDatabase} representing all values found in database.
-   */
-  private EntitiesInDatabase findEntitiesInDatabase(BookstoreBook bookstoreBook) {
-
-    Book bookAlreadyInDatabase = bookRepository.getBookById(bookstoreBook.getBook().getBookId());
-
-    Bookstore bookstoreAlreadyInDatabase =
-        bookRepository.getBookstoreById(bookstoreBook.getBookstore().getName());
-
-    BookstoreBook bookstoreBookAlreadyInDatabase =
-        bookRepository.getBookstoreBookById(bookstoreBook.getHyperlink());
-
-    return new EntitiesInDatabase(
-        bookAlreadyInDatabase, bookstoreAlreadyInDatabase, bookstoreBookAlreadyInDatabase);
-  }
-
   private PriceAtTheMoment createPriceAtTheMoment(BookDto bookDto, BookstoreBook bookstoreBook) {
     return new PriceAtTheMoment(
         bookstoreBook, bookDto.getRetailPrice(), bookDto.getPromotionalPrice(), bookDto.getCurrency(), LocalDateTime.now());
@@ -128,25 +146,63 @@ private Book createBook(BookDto bookDto) {
     return new Book(bookId, bookDto.getSubtitle());
   }
 
-  private void saveOrUpdateModel(
-      Bookstore bookstore, BookstoreBook bookstoreBook, Book book, EntitiesInDatabase entities) {
-
-    bookRepository.saveOrUpdateBook(book, entities.book);
-    bookRepository.saveOrUpdateBookstore(bookstore, entities.bookstore);
-    bookRepository.saveOrUpdateBookstoreBook(bookstoreBook, entities.bookstoreBook);
+  private CurrentOffer createCurrentOffer(BookstoreBook bookstoreBook) {
+    Book book = bookstoreBook.getBook();
+    PriceAtTheMoment price = bookstoreBook.getLastElementOfPriceHistories();
+    return new CurrentOffer(
+        bookstoreBook.getHyperlink(),
+        book.getBookId().getTitle(),
+        book.getSubtitle(),
+        book.getBookId().getAuthor(),
+        bookstoreBook.getImageLink(),
+        bookstoreBook.getBookstore().getName(),
+        price.getRetailPrice(),
+        price.getPromotionalPrice(),
+        price.getCurrency(),
+        price.getDate());
   }
 
-  private class EntitiesInDatabase {
+  /**
+   * Saves or updates all entities of given {@link BookstoreBook}, together with its {@link
+   * CurrentOffer}. Saved entities are remembered in {@link IngestIdentityMap}, so duplicates within
+   * the same batch are updated instead of being persisted twice.
+   *
+   * <p>New {@link PriceAtTheMoment} is saved only when price differs from the current offer. Price
+   * history holds only changes, every price is valid from its date until date of the next one, and
+   * the latest one until {@link CurrentOffer#getLastSeen()}.
+   */
+  private void saveOrUpdateModel(BookstoreBook bookstoreBook, IngestIdentityMap identityMap) {
+    Book book = bookstoreBook.getBook();
+    Bookstore bookstore = bookstoreBook.getBookstore();
+    CurrentOffer currentOffer = createCurrentOffer(bookstoreBook);
+    CurrentOffer currentOfferAlreadyInDatabase =
+        identityMap.getCurrentOffer(currentOffer.getHyperlink());
+    if (currentOfferAlreadyInDatabase != null
+        && hasSamePrice(currentOffer, currentOfferAlreadyInDatabase)) {
+      bookstoreBook.getPriceHistories().clear();
+    }
 
-    private final Book book;
-    private final Bookstore bookstore;
-    private final BookstoreBook bookstoreBook;
+    bookRepository.saveOrUpdateBook(book, identityMap.getBook(book.getBookId()));
+    bookRepository.saveOrUpdateBookstore(bookstore, identityMap.getBookstore(bookstore.getName()));
+    bookRepository.saveOrUpdateBookstoreBook(
+        bookstoreBook, identityMap.getBookstoreBook(bookstoreBook.getHyperlink()));
 
-    EntitiesInDatabase(Book book, Bookstore bookstore, BookstoreBook bookstoreBook) {
+    identityMap.rememberSaved(bookstoreBook);
+
+    bookRepository.saveOrUpdateCurrentOffer(currentOffer, currentOfferAlreadyInDatabase);
+    identityMap.rememberSaved(currentOffer);
+  }
+
+  private boolean hasSamePrice(CurrentOffer offer, CurrentOffer other) {
+    return isSameAmount(offer.getRetailPrice(), other.getRetailPrice())
+        && isSameAmount(offer.getPromotionalPrice(), other.getPromotionalPrice())
+        && Objects.equals(offer.getCurrency(), other.getCurrency());
+  }
 
-      this.book = book;
-      this.bookstore = bookstore;
-      this.bookstoreBook = bookstoreBook;
+  private boolean isSameAmount(BigDecimal amount, BigDecimal other) {
+    if (amount == null || other == null) {
+      return amount == other;
     }
+    return amount.compareTo(other) == 0;
   }
 }
@@ -1,83 +1,267 @@
 package edition.academy.seventh.repository;
 
-import edition.academy.seventh.database.connector.ConnectorFactory;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.database.model.BookDto;
 import edition.academy.seventh.database.model.BookstoreBookDto;
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
 import edition.academy.seventh.model.Book;
 import edition.academy.seventh.model.BookId;
 import edition.academy.seventh.model.Bookstore;
 import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import edition.academy.seventh.model.DailyPrice;
+import edition.academy.seventh.model.PriceAtTheMoment;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
-import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-
-import static edition.academy.seventh.database.connector.DatabaseType.*;
-import static edition.academy.seventh.repository.ModelParserIntoBookDtos.parseBookstoreBooksIntoBookDtos;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Allows to persists and retrieve data about books from the database. This information is
  * transferred through the application as {@link BookDto}.
  *
+ * <p>Repository is shared by request threads and ingests running at the same time, so it keeps no
+ * state of single operation. Every operation runs in its own transaction, with its own {@link
+ * EntityManager} bound to the transaction by the shared one. Books are read in read-only
+ * transactions, while every batch of saved books is written in its own transaction.
+ *
  * @author Agnieszka Trzewik
  */
 @Repository
 public class BookRepository {
   private static final Logger logger = LoggerFactory.getLogger(BookRepository.class);
-  private EntityManager entityManager;
-  private ConnectorProvider connectorProvider;
-  private BookDtoParser bookDtoParser;
+  private static final int DEFAULT_BATCH_SIZE = 500;
+  /** Projects current offers straight into {@link BookDto}, without loading any entity. */
+  private static final String CURRENT_OFFERS_QUERY =
+      "SELECT new edition.academy.seventh.database.model.BookDto("
+          + "o.title, o.subtitle, o.author, o.currency, o.retailPrice, o.promotionalPrice, "
+          + "o.imageLink, o.hyperlink, o.bookstoreName) FROM current_offer o";
+  /**
+   * Creates missing current offers of bookstore books from their latest prices. Latest prices are
+   * found by single aggregation over price history.
+   */
+  private static final String MISSING_CURRENT_OFFERS_INSERT =
+      "INSERT INTO current_offer (hyperlink, title, subtitle, author, imageLink, bookstoreName, "
+          + "retailPrice, promotionalPrice, currency, lastSeen) "
+          + "SELECT bb.hyperlink, b.bookId.title, b.subtitle, b.bookId.author, bb.imageLink, "
+          + "s.name, p.retailPrice, p.promotionalPrice, p.currency, p.date "
+          + "FROM price_at_the_moment p JOIN p.bookstoreBook bb JOIN bb.book b "
+          + "JOIN bb.bookstore s "
+          + "WHERE p.id IN (SELECT MAX(latest.id) FROM price_at_the_moment latest "
+          + "GROUP BY latest.bookstoreBook) "
+          + "AND bb.hyperlink NOT IN (SELECT o.hyperlink FROM current_offer o)";
+  private static final String LAST_SEEN_UPDATE =
+      "UPDATE current_offer o SET o.lastSeen = :lastSeen WHERE o.hyperlink IN :hyperlinks";
+  /**
+   * Deletes prices equal to the previous price of the same bookstore book, keeping the first price
+   * of every unchanged period. Previous prices are found by single pass of window functions.
+   */
+  private static final String DUPLICATE_PRICES_DELETE =
+      "DELETE FROM price_at_the_moment WHERE id IN (SELECT id FROM ("
+          + "SELECT id, retail_price, promotional_price, currency, "
+          + "LAG(id) OVER (PARTITION BY bookstoreBook_id ORDER BY id) AS previous_id, "
+          + "LAG(retail_price) OVER (PARTITION BY bookstoreBook_id ORDER BY id) "
+          + "AS previous_retail_price, "
+          + "LAG(promotional_price) OVER (PARTITION BY bookstoreBook_id ORDER BY id) "
+          + "AS previous_promotional_price, "
+          + "LAG(currency) OVER (PARTITION BY bookstoreBook_id ORDER BY id) AS previous_currency "
+          + "FROM price_at_the_moment) history "
+          + "WHERE previous_id IS NOT NULL "
+          + "AND retail_price IS NOT DISTINCT FROM previous_retail_price "
+          + "AND promotional_price IS NOT DISTINCT FROM previous_promotional_price "
+          + "AND currency IS NOT DISTINCT FROM previous_currency)";
+  private static final String DAILY_PRICES_COUNT =
+      "SELECT COUNT(d) FROM daily_price d WHERE d.dailyPriceId.hyperlink = :hyperlink";
+  private static final String DAILY_PRICES_SELECT =
+      "SELECT d FROM daily_price d WHERE d.dailyPriceId.hyperlink = :hyperlink";
+  private static final String DAILY_PRICE_DATE = "d.dailyPriceId.date";
+  private static final String PRICES_COUNT =
+      "SELECT COUNT(p) FROM price_at_the_moment p WHERE p.bookstoreBook.hyperlink = :hyperlink";
+  /** Projects prices straight into {@link PriceAtTheMomentDto}, without loading any entity. */
+  private static final String PRICES_SELECT =
+      "SELECT new edition.academy.seventh.database.model.PriceAtTheMomentDto("
+          + "p.retailPrice, p.promotionalPrice, p.currency, p.date) "
+          + "FROM price_at_the_moment p WHERE p.bookstoreBook.hyperlink = :hyperlink";
+  private static final String PRICE_DATE = "p.date";
+  private static final int PRICE_HISTORY_FETCH_SIZE = 500;
+  private final EntityManager entityManager;
+  private final ConnectorProvider connectorProvider;
+  private final TransactionTemplate readTransaction;
+  private final TransactionTemplate writeTransaction;
+  private final BookDtoParser bookDtoParser;
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  private boolean priceHistoryCompaction;
 
+  /**
+   * Creates repository working on shared {@link EntityManager}, bound to transaction of current
+   * thread.
+   *
+   * @param bookDtoParser saving parsed books through this repository.
+   * @param connectorProvider providing statistics of caches and connection pool.
+   * @param entityManager shared between threads.
+   * @param transactionManager of the entity manager's factory.
+   */
   @Autowired
-  public BookRepository(BookDtoParser bookDtoParser) {
-    connectorProvider = ConnectorFactory.of(POSTGRESQL);
+  public BookRepository(
+      BookDtoParser bookDtoParser,
+      ConnectorProvider connectorProvider,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager) {
     this.bookDtoParser = bookDtoParser;
+    this.connectorProvider = connectorProvider;
+    this.entityManager = entityManager;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.writeTransaction = new TransactionTemplate(transactionManager);
   }
 
   /**
-   * Adds books records to the database.
+   * Adds books records to the database. Books are split into batches of {@link #batchSize}
+   * records, each one is saved in its own transaction, so a failing batch does not roll back the
+   * whole run. Entities already existing in database are loaded once for all batches into {@link
+   * IngestIdentityMap}, in a read-only transaction.
    *
    * @param bookDtos {@code List<BookDto>} to be added
+   * @return number of saved books, lower than the number of given ones when any batch failed.
    */
-  public void addBooksToDatabase(List<BookDto> bookDtos) {
-    entityManager = connectorProvider.getEntityManager();
-    EntityTransaction transaction = entityManager.getTransaction();
-
-    transaction.begin();
-    bookDtos.forEach(this::addBookToDatabase);
-    logger.info("Saving " + bookDtos.size() + " books in database");
-    transaction.commit();
-    connectorProvider.close();
+  public int addBooksToDatabase(List<BookDto> bookDtos) {
+    if (bookDtos.isEmpty()) {
+      return 0;
+    }
+    IngestIdentityMap identityMap = preloadIdentityMap(bookDtos);
+    int savedBooks = 0;
+    for (int from = 0; from < bookDtos.size(); from += batchSize) {
+      List<BookDto> batch = bookDtos.subList(from, Math.min(from + batchSize, bookDtos.size()));
+      if (addBatchToDatabase(batch, identityMap)) {
+        savedBooks += batch.size();
+      }
+    }
+    logger.info("Saved " + savedBooks + " of " + bookDtos.size() + " books in database");
+    logCacheStatistics();
+    return savedBooks;
   }
 
   /**
-   * Retrieves all books with latest price information from database.
+   * Retrieves all books with latest price information from database. They are read from {@link
+   * CurrentOffer current offers}, maintained by every ingest.
    *
    * @return {@code List<BookDto>}
    */
   public List<BookDto> getLatestBooksFromDatabase() {
+    return readTransaction.execute(status -> queryLatestBooks());
+  }
 
-    entityManager = connectorProvider.getEntityManager();
-
-    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-    CriteriaQuery<BookstoreBook> query = criteriaBuilder.createQuery(BookstoreBook.class);
+  /**
+   * Migrates data saved by previous versions: compacts price history when it is enabled and fills
+   * missing current offers.
+   */
+  @PostConstruct
+  void migrate() {
+    if (priceHistoryCompaction) {
+      compactPriceHistory();
+    }
+    fillMissingCurrentOffers();
+  }
 
-    Root<BookstoreBook> from = query.from(BookstoreBook.class);
-    query.select(from);
-    List<BookstoreBook> bookstoreBookList = entityManager.createQuery(query).getResultList();
+  /**
+   * Deletes prices saved by previous versions on every ingest, even when they did not change.
+   * Only the first price of every period without change is kept, so history still shows when
+   * every price started.
+   *
+   * @return number of deleted prices
+   */
+  public int compactPriceHistory() {
+    Integer deleted =
+        writeTransaction.execute(
+            status ->
+                entityManager
+                    .createNativeQuery(DUPLICATE_PRICES_DELETE)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(PriceAtTheMoment.class)
+                    .executeUpdate());
+    logger.info("Compacted price history, deleted " + deleted + " unchanged prices");
+    return deleted;
+  }
 
-    logger.info("Called getBooksFromDatabase(), returning " + bookstoreBookList.size() + " books");
-    entityManager.close();
+  /**
+   * Creates {@link CurrentOffer current offers} of bookstore books saved before offers were
+   * maintained, so they are listed too. Does nothing when every bookstore book has its offer.
+   *
+   * @return number of created offers
+   */
+  public int fillMissingCurrentOffers() {
+    Integer created =
+        writeTransaction.execute(
+            status -> {
+              long bookstoreBooks = count("bookstore_book");
+              if (count("current_offer") >= bookstoreBooks) {
+                return 0;
+              }
+              return entityManager.createQuery(MISSING_CURRENT_OFFERS_INSERT).executeUpdate();
+            });
+    if (created > 0) {
+      logger.info("Created " + created + " missing current offers");
+    }
+    return created;
+  }
 
-    return parseBookstoreBooksIntoBookDtos(bookstoreBookList);
+  /**
+   * Marks {@link CurrentOffer current offers} of given bookstore books as seen now, without saving
+   * their prices again. Books of pages which have not changed since previous run are not saved, so
+   * this is the only way their latest prices are known to be still valid.
+   *
+   * @param hyperlinks of bookstore books, offers of unknown ones are skipped
+   * @return number of updated offers
+   */
+  public int markOffersAsSeen(Collection<String> hyperlinks) {
+    if (hyperlinks.isEmpty()) {
+      return 0;
+    }
+    List<String> ids = new ArrayList<>(hyperlinks);
+    LocalDateTime now = LocalDateTime.now();
+    return writeTransaction.execute(
+        status -> {
+          int updated = 0;
+          for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            updated +=
+                entityManager
+                    .createQuery(LAST_SEEN_UPDATE)
+                    .setParameter("lastSeen", now)
+                    .setParameter("hyperlinks", chunk)
+                    .executeUpdate();
+          }
+          return updated;
+        });
   }
 
   /**
@@ -88,37 +272,133 @@ public List<BookDto> getLatestBooksFromDatabase() {
    * @return {@link BookstoreBook} found by id, or null if href does not exist.
    */
   public BookstoreBookDto getBookstoreBookDtoByHref(String href) {
+    return readTransaction.execute(status -> findBookstoreBookDtoByHref(href));
+  }
 
-    entityManager = connectorProvider.getEntityManager();
+  /**
+   * Retrieves prices of given book from given time range, downsampled to given number of points
+   * in single pass over prices streamed from database, see {@link PriceHistoryDownsampler}. Days
+   * rolled up into {@link DailyPrice daily prices} are represented by their last price.
+   *
+   * @param href link of the book.
+   * @param from beginning of the range, inclusive, or null for the whole history before the end.
+   * @param to end of the range, exclusive, or null for the whole history after the beginning.
+   * @param maxPoints maximal number of returned prices, at least 3.
+   * @return {@code List<PriceAtTheMomentDto>} ordered by date, empty if book does not exist.
+   */
+  public List<PriceAtTheMomentDto> getPriceHistory(
+      String href, LocalDateTime from, LocalDateTime to, int maxPoints) {
+    return readTransaction.execute(status -> queryPriceHistory(href, from, to, maxPoints));
+  }
 
-    BookstoreBook bookstoreBook = entityManager.find(BookstoreBook.class, href);
+  /**
+   * Finds all {@link Book books} with given ids. Books kept in second-level cache are taken from
+   * it, remaining ones are found using one query for whole batch.
+   *
+   * @param bookIds ids of searched books
+   * @return {@code Map<BookId, Book>} of books which already exist in database
+   */
+  Map<BookId, Book> getBooksByIds(Collection<BookId> bookIds) {
+    Map<BookId, Book> books = new HashMap<>();
+    books.putAll(queryBooksByIds(findCached(Book.class, bookIds, books)));
+    return books;
+  }
 
-    if (bookstoreBook == null) {
-      logger.info("Cannot find book with href " + href);
-      return null;
+  private Map<BookId, Book> queryBooksByIds(Collection<BookId> bookIds) {
+    if (bookIds.isEmpty()) {
+      return new HashMap<>();
     }
+    Set<String> titles = bookIds.stream().map(BookId::getTitle).collect(Collectors.toSet());
 
-    logger.info("Called getBookstoreBookDtoByHref()");
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Book> query = criteriaBuilder.createQuery(Book.class);
+    Root<Book> from = query.from(Book.class);
+    query.select(from).where(from.get("bookId").get("title").in(titles));
 
-    entityManager.close();
+    return entityManager.createQuery(query).getResultList().stream()
+        .filter(book -> bookIds.contains(book.getBookId()))
+        .collect(Collectors.toMap(Book::getBookId, Function.identity(), (first, second) -> first,
+            HashMap::new));
+  }
 
-    return bookDtoParser.parseBookstoreBookIntoBookstoreBookDto(bookstoreBook);
+  /**
+   * Finds all {@link Bookstore bookstores}, there are only a few of them. Result of the query is
+   * cached, as it is repeated by every ingest.
+   *
+   * @return {@code Map<String, Bookstore>} of all bookstores in database
+   */
+  Map<String, Bookstore> getAllBookstores() {
+    CriteriaQuery<Bookstore> query =
+        entityManager.getCriteriaBuilder().createQuery(Bookstore.class);
+    query.select(query.from(Bookstore.class));
+
+    return entityManager.createQuery(query).setHint(QueryHints.CACHEABLE, true)
+        .getResultList().stream()
+        .collect(Collectors.toMap(Bookstore::getName, Function.identity(),
+            (first, second) -> first, HashMap::new));
   }
 
-  Book getBookById(BookId bookId) {
-    return entityManager.find(Book.class, bookId);
+  /**
+   * Finds all {@link BookstoreBook bookstore books} with given hyperlinks using one query for
+   * whole batch.
+   *
+   * @param bookstoreBookIds hyperlinks of searched bookstore books
+   * @return {@code Map<String, BookstoreBook>} of bookstore books which already exist in database
+   */
+  Map<String, BookstoreBook> getBookstoreBooksByIds(Collection<String> bookstoreBookIds) {
+    return findAllByIds(
+        BookstoreBook.class, "hyperlink", bookstoreBookIds, BookstoreBook::getHyperlink);
   }
 
-  Bookstore getBookstoreById(String bookstoreId) {
-    return entityManager.find(Bookstore.class, bookstoreId);
+  /**
+   * Sets number of books saved in a single transaction.
+   *
+   * @param batchSize number of books per batch, has to be positive
+   */
+  @Autowired
+  void setBatchSize(@Value("${robot.ingestBatchSize:500}") int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size has to be positive, was: " + batchSize);
+    }
+    this.batchSize = batchSize;
   }
 
-  BookstoreBook getBookstoreBookById(String bookstoreBookId) {
-    return entityManager.find(BookstoreBook.class, bookstoreBookId);
+  /**
+   * Enables deleting unchanged prices from history on startup. Compaction scans whole history, so
+   * it is meant to be enabled once, after upgrading from version saving every price.
+   *
+   * @param priceHistoryCompaction whether to compact price history on startup
+   */
+  @Autowired
+  void setPriceHistoryCompaction(
+      @Value("${robot.priceHistoryCompaction:false}") boolean priceHistoryCompaction) {
+    this.priceHistoryCompaction = priceHistoryCompaction;
   }
 
-  void setConnectorProvider(ConnectorProvider connectorProvider) {
-    this.connectorProvider = connectorProvider;
+  /**
+   * Finds all {@link CurrentOffer current offers} with given hyperlinks using one query for whole
+   * batch.
+   *
+   * @param hyperlinks of bookstore books of searched offers
+   * @return {@code Map<String, CurrentOffer>} of offers which already exist in database
+   */
+  Map<String, CurrentOffer> getCurrentOffersByIds(Collection<String> hyperlinks) {
+    return findAllByIds(CurrentOffer.class, "hyperlink", hyperlinks, CurrentOffer::getHyperlink);
+  }
+
+  /**
+   * Replaces existing {@link CurrentOffer} of bookstore book with the new one, or persist it.
+   *
+   * @param currentOffer new to save
+   * @param currentOfferAlreadyInDatabase existing in database
+   */
+  void saveOrUpdateCurrentOffer(
+      CurrentOffer currentOffer, CurrentOffer currentOfferAlreadyInDatabase) {
+    if (currentOfferAlreadyInDatabase != null) {
+      entityManager.merge(currentOffer);
+    } else {
+      entityManager.persist(currentOffer);
+    }
   }
 
   /**
@@ -167,7 +447,191 @@ void saveOrUpdateBook(Book book, Book bookAlreadyInDatabase) {
     }
   }
 
-  private void addBookToDatabase(BookDto bookDto) {
-    bookDtoParser.parseBookDtoIntoModel(bookDto);
+  private void logCacheStatistics() {
+    Statistics statistics = connectorProvider.getStatistics();
+    logger.info(
+        "Second-level cache: "
+            + statistics.getSecondLevelCacheHitCount()
+            + " hits, "
+            + statistics.getSecondLevelCacheMissCount()
+            + " misses, "
+            + statistics.getSecondLevelCachePutCount()
+            + " puts; query cache: "
+            + statistics.getQueryCacheHitCount()
+            + " hits, "
+            + statistics.getQueryCacheMissCount()
+            + " misses");
+    HikariPoolMXBean pool = connectorProvider.getPoolStatistics();
+    logger.info(
+        "Connection pool: "
+            + pool.getActiveConnections()
+            + " active, "
+            + pool.getIdleConnections()
+            + " idle, "
+            + pool.getTotalConnections()
+            + " total, "
+            + pool.getThreadsAwaitingConnection()
+            + " awaiting");
+  }
+
+  private long count(String entityName) {
+    return entityManager
+        .createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class)
+        .getSingleResult();
+  }
+
+  private List<BookDto> queryLatestBooks() {
+    List<BookDto> bookDtos =
+        entityManager.createQuery(CURRENT_OFFERS_QUERY, BookDto.class).getResultList();
+
+    logger.info("Called getBooksFromDatabase(), returning " + bookDtos.size() + " books");
+
+    return bookDtos;
+  }
+
+  private BookstoreBookDto findBookstoreBookDtoByHref(String href) {
+    BookstoreBook bookstoreBook = entityManager.find(BookstoreBook.class, href);
+
+    if (bookstoreBook == null) {
+      logger.info("Cannot find book with href " + href);
+      return null;
+    }
+
+    logger.info("Called getBookstoreBookDtoByHref()");
+
+    List<DailyPrice> dailyPrices =
+        entityManager
+            .createQuery(
+                "SELECT d FROM daily_price d WHERE d.dailyPriceId.hyperlink = :hyperlink "
+                    + "ORDER BY d.dailyPriceId.date",
+                DailyPrice.class)
+            .setParameter("hyperlink", href)
+            .getResultList();
+
+    return bookDtoParser.parseBookstoreBookIntoBookstoreBookDto(bookstoreBook, dailyPrices);
+  }
+
+  private List<PriceAtTheMomentDto> queryPriceHistory(
+      String href, LocalDateTime from, LocalDateTime to, int maxPoints) {
+    LocalDate fromDay = from != null ? firstDayStartingFrom(from) : null;
+    LocalDate toDay = to != null ? firstDayStartingFrom(to) : null;
+    long count = countDailyPrices(href, fromDay, toDay) + countPrices(href, from, to);
+    PriceHistoryDownsampler downsampler = new PriceHistoryDownsampler(count, maxPoints);
+
+    try (Stream<DailyPrice> dailyPrices = streamDailyPrices(href, fromDay, toDay)) {
+      dailyPrices.map(bookDtoParser::parseDailyPriceIntoPriceAtTheMomentDto).forEach(downsampler);
+    }
+    try (Stream<PriceAtTheMomentDto> prices = streamPrices(href, from, to)) {
+      prices.forEach(downsampler);
+    }
+    return downsampler.finish();
+  }
+
+  private long countDailyPrices(String href, LocalDate from, LocalDate to) {
+    String query = DAILY_PRICES_COUNT + dateRange(DAILY_PRICE_DATE, from, to);
+    return bind(entityManager.createQuery(query, Long.class), href, from, to).getSingleResult();
+  }
+
+  private Stream<DailyPrice> streamDailyPrices(String href, LocalDate from, LocalDate to) {
+    String query =
+        DAILY_PRICES_SELECT
+            + dateRange(DAILY_PRICE_DATE, from, to)
+            + " ORDER BY d.dailyPriceId.date";
+    return bind(entityManager.createQuery(query, DailyPrice.class), href, from, to)
+        .getResultStream();
+  }
+
+  private long countPrices(String href, LocalDateTime from, LocalDateTime to) {
+    String query = PRICES_COUNT + dateRange(PRICE_DATE, from, to);
+    return bind(entityManager.createQuery(query, Long.class), href, from, to).getSingleResult();
+  }
+
+  private Stream<PriceAtTheMomentDto> streamPrices(
+      String href, LocalDateTime from, LocalDateTime to) {
+    String query = PRICES_SELECT + dateRange(PRICE_DATE, from, to) + " ORDER BY p.date, p.id";
+    return bind(entityManager.createQuery(query, PriceAtTheMomentDto.class), href, from, to)
+        .setHint(QueryHints.FETCH_SIZE, PRICE_HISTORY_FETCH_SIZE)
+        .getResultStream();
+  }
+
+  /** Daily price of given day is represented by its beginning, so it is first day not before. */
+  private LocalDate firstDayStartingFrom(LocalDateTime dateTime) {
+    LocalDate day = dateTime.toLocalDate();
+    return dateTime.equals(day.atStartOfDay()) ? day : day.plusDays(1);
+  }
+
+  /** Restricts date to the range, bounds which are null are skipped. */
+  private String dateRange(String dateAttribute, Object from, Object to) {
+    return (from != null ? " AND " + dateAttribute + " >= :from" : "")
+        + (to != null ? " AND " + dateAttribute + " < :to" : "");
+  }
+
+  /** Binds parameters of query restricted by {@link #dateRange(String, Object, Object)}. */
+  private <T> TypedQuery<T> bind(TypedQuery<T> query, String href, Object from, Object to) {
+    query.setParameter("hyperlink", href);
+    if (from != null) {
+      query.setParameter("from", from);
+    }
+    if (to != null) {
+      query.setParameter("to", to);
+    }
+    return query;
+  }
+
+  private IngestIdentityMap preloadIdentityMap(List<BookDto> bookDtos) {
+    return readTransaction.execute(status -> IngestIdentityMap.preload(this, bookDtos, batchSize));
+  }
+
+  private boolean addBatchToDatabase(List<BookDto> batch, IngestIdentityMap identityMap) {
+    try {
+      writeTransaction.execute(
+          status -> {
+            bookDtoParser.parseBookDtosIntoModel(batch, identityMap);
+            return null;
+          });
+      identityMap.commit();
+      return true;
+    } catch (PersistenceException | DataAccessException | TransactionException e) {
+      logger.error("Saving batch of " + batch.size() + " books failed. " + e.getMessage());
+      identityMap.rollback();
+      return false;
+    }
+  }
+
+  /**
+   * Takes entities kept in second-level cache from it, without querying the database.
+   *
+   * @param entityClass class of {@link javax.persistence.Cacheable} entity
+   * @param ids of searched entities
+   * @param found receives entities taken from cache
+   * @return ids of entities which are not cached
+   */
+  private <K, T> List<K> findCached(Class<T> entityClass, Collection<K> ids, Map<K, T> found) {
+    Cache cache = entityManager.getEntityManagerFactory().getCache();
+    List<K> uncachedIds = new ArrayList<>();
+    for (K id : ids) {
+      T entity = cache.contains(entityClass, id) ? entityManager.find(entityClass, id) : null;
+      if (entity != null) {
+        found.put(id, entity);
+      } else {
+        uncachedIds.add(id);
+      }
+    }
+    return uncachedIds;
+  }
+
+  private <T> Map<String, T> findAllByIds(
+      Class<T> entityClass, String idAttribute, Collection<String> ids, Function<T, String> id) {
+    if (ids.isEmpty()) {
+      return new HashMap<>();
+    }
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = criteriaBuilder.createQuery(entityClass);
+    Root<T> from = query.from(entityClass);
+    query.select(from).where(from.get(idAttribute).in(ids));
+
+    return entityManager.createQuery(query).getResultList().stream()
+        .collect(Collectors.toMap(id, Function.identity(), (first, second) -> first,
+            HashMap::new));
   }
 }
@@ -0,0 +1,156 @@
+package edition.academy.seventh.repository;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.model.Book;
+import edition.academy.seventh.model.BookId;
+import edition.academy.seventh.model.Bookstore;
+import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Identity map of {@link Book books}, {@link Bookstore bookstores}, {@link BookstoreBook bookstore
+ * books} and their {@link CurrentOffer current offers} which exist in database, scoped to a single
+ * {@link BookRepository#addBooksToDatabase(List)} call. It is preloaded once for all books of the
+ * call, so saving every batch only looks entities up in memory.
+ *
+ * <p>Entities saved by a batch are remembered as pending and become known only when the batch is
+ * committed, so entities of a rolled back batch are persisted again by the next ones.
+ */
+class IngestIdentityMap {
+
+  private final Map<BookId, Book> books;
+  private final Map<String, Bookstore> bookstores;
+  private final Map<String, BookstoreBook> bookstoreBooks;
+  private final Map<String, CurrentOffer> currentOffers;
+  private final Map<BookId, Book> pendingBooks = new HashMap<>();
+  private final Map<String, Bookstore> pendingBookstores = new HashMap<>();
+  private final Map<String, BookstoreBook> pendingBookstoreBooks = new HashMap<>();
+  private final Map<String, CurrentOffer> pendingCurrentOffers = new HashMap<>();
+
+  IngestIdentityMap(
+      Map<BookId, Book> books,
+      Map<String, Bookstore> bookstores,
+      Map<String, BookstoreBook> bookstoreBooks,
+      Map<String, CurrentOffer> currentOffers) {
+    this.books = new HashMap<>(books);
+    this.bookstores = new HashMap<>(bookstores);
+    this.bookstoreBooks = new HashMap<>(bookstoreBooks);
+    this.currentOffers = new HashMap<>(currentOffers);
+  }
+
+  /**
+   * Loads all bookstores and those books, bookstore books and current offers of given DTOs which
+   * exist in database. Ids are searched in chunks, so every entity type needs only a handful of
+   * queries.
+   *
+   * @param bookRepository to query.
+   * @param bookDtos of single ingest.
+   * @param chunkSize maximal number of ids searched by one query.
+   * @return preloaded {@link IngestIdentityMap}.
+   */
+  static IngestIdentityMap preload(
+      BookRepository bookRepository, List<BookDto> bookDtos, int chunkSize) {
+    Set<BookId> bookIds =
+        bookDtos.stream()
+            .map(bookDto -> new BookId(bookDto.getTitle(), bookDto.getAuthors()))
+            .collect(Collectors.toSet());
+    Set<String> hyperlinks = bookDtos.stream().map(BookDto::getHref).collect(Collectors.toSet());
+
+    return new IngestIdentityMap(
+        findInChunks(bookIds, chunkSize, bookRepository::getBooksByIds),
+        bookRepository.getAllBookstores(),
+        findInChunks(hyperlinks, chunkSize, bookRepository::getBookstoreBooksByIds),
+        findInChunks(hyperlinks, chunkSize, bookRepository::getCurrentOffersByIds));
+  }
+
+  Book getBook(BookId bookId) {
+    return pendingBooks.getOrDefault(bookId, books.get(bookId));
+  }
+
+  Bookstore getBookstore(String name) {
+    return pendingBookstores.getOrDefault(name, bookstores.get(name));
+  }
+
+  BookstoreBook getBookstoreBook(String hyperlink) {
+    return pendingBookstoreBooks.getOrDefault(hyperlink, bookstoreBooks.get(hyperlink));
+  }
+
+  CurrentOffer getCurrentOffer(String hyperlink) {
+    return pendingCurrentOffers.getOrDefault(hyperlink, currentOffers.get(hyperlink));
+  }
+
+  /**
+   * Remembers entities of saved {@link BookstoreBook} as pending, until current batch ends.
+   *
+   * @param bookstoreBook saved with its book and bookstore.
+   */
+  void rememberSaved(BookstoreBook bookstoreBook) {
+    Book book = bookstoreBook.getBook();
+    Bookstore bookstore = bookstoreBook.getBookstore();
+    if (getBook(book.getBookId()) == null) {
+      pendingBooks.put(book.getBookId(), book);
+    }
+    if (getBookstore(bookstore.getName()) == null) {
+      pendingBookstores.put(bookstore.getName(), bookstore);
+    }
+    if (getBookstoreBook(bookstoreBook.getHyperlink()) == null) {
+      pendingBookstoreBooks.put(bookstoreBook.getHyperlink(), bookstoreBook);
+    }
+  }
+
+  /**
+   * Remembers saved {@link CurrentOffer} as pending, until current batch ends. It replaces offer of
+   * the same bookstore book, so next prices are compared with the latest one.
+   *
+   * @param currentOffer saved together with its bookstore book.
+   */
+  void rememberSaved(CurrentOffer currentOffer) {
+    pendingCurrentOffers.put(currentOffer.getHyperlink(), currentOffer);
+  }
+
+  /** Makes entities saved by committed batch known to the next batches. */
+  void commit() {
+    books.putAll(pendingBooks);
+    bookstores.putAll(pendingBookstores);
+    bookstoreBooks.putAll(pendingBookstoreBooks);
+    currentOffers.putAll(pendingCurrentOffers);
+    clearPending();
+  }
+
+  /** Forgets entities saved by rolled back batch. */
+  void rollback() {
+    clearPending();
+  }
+
+  private void clearPending() {
+    pendingBooks.clear();
+    pendingBookstores.clear();
+    pendingBookstoreBooks.clear();
+    pendingCurrentOffers.clear();
+  }
+
+  private static <K, V> Map<K, V> findInChunks(
+      Collection<K> ids, int chunkSize, Function<Collection<K>, Map<K, V>> finder) {
+    Map<K, V> found = new HashMap<>();
+    List<K> chunk = new ArrayList<>(Math.min(chunkSize, ids.size()));
+    for (K id : ids) {
+      chunk.add(id);
+      if (chunk.size() == chunkSize) {
+        found.putAll(finder.apply(chunk));
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      found.putAll(finder.apply(chunk));
+    }
+    return found;
+  }
+}
@@ -2,6 +2,7 @@
 
 import edition.academy.seventh.database.model.BookDto;
 import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,4 +38,27 @@ public static List<BookDto> parseBookstoreBooksIntoBookDtos(List<BookstoreBook>
             })
         .collect(Collectors.toList());
   }
+
+  /**
+   * Parses current offers, which already hold latest price information, to {@link BookDto}.
+   *
+   * @param currentOffers to parse
+   * @return {@code List<BookDto>} in order of the offers
+   */
+  public static List<BookDto> parseCurrentOffersIntoBookDtos(List<CurrentOffer> currentOffers) {
+    return currentOffers.stream()
+        .map(
+            currentOffer ->
+                new BookDto(
+                    currentOffer.getTitle(),
+                    currentOffer.getSubtitle(),
+                    currentOffer.getAuthor(),
+                    currentOffer.getCurrency(),
+                    currentOffer.getRetailPrice(),
+                    currentOffer.getPromotionalPrice(),
+                    currentOffer.getImageLink(),
+                    currentOffer.getHyperlink(),
+                    currentOffer.getBookstoreName()))
+        .collect(Collectors.toList());
+  }
 }
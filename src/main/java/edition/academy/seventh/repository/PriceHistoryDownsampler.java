@@ -0,0 +1,145 @@
+package edition.academy.seventh.repository;
+
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Downsamples price history with Largest-Triangle-Three-Buckets algorithm, in single pass over
+ * prices ordered by date. The first and the last price are always kept. Remaining prices are split
+ * into buckets of equal size, and from every bucket the price forming the largest triangle with
+ * price selected from previous bucket and average of the next bucket is kept. So peaks and drops
+ * of the price survive, while prices on flat or steady parts of history are skipped.
+ *
+ * <p>Only two buckets are held in memory at once. Price is the one paid by customer, promotional
+ * one when it is given, otherwise the retail one.
+ */
+final class PriceHistoryDownsampler implements Consumer<PriceAtTheMomentDto> {
+
+  private final int maxPoints;
+  private final double bucketSize;
+  private final List<PriceAtTheMomentDto> selected = new ArrayList<>();
+  private List<PriceAtTheMomentDto> currentBucket = new ArrayList<>();
+  private List<PriceAtTheMomentDto> nextBucket = new ArrayList<>();
+  private int nextBucketIndex;
+  private PriceAtTheMomentDto pending;
+  private long accepted;
+
+  /**
+   * Creates downsampler of given number of prices.
+   *
+   * @param size number of prices to be accepted, used to size the buckets.
+   * @param maxPoints maximal number of kept prices, at least 3.
+   */
+  PriceHistoryDownsampler(long size, int maxPoints) {
+    if (maxPoints < 3) {
+      throw new IllegalArgumentException("At least 3 points are required, was: " + maxPoints);
+    }
+    this.maxPoints = maxPoints;
+    this.bucketSize = size > maxPoints ? (double) (size - 2) / (maxPoints - 2) : 0;
+  }
+
+  /**
+   * Accepts next price, which cannot be older than previous one.
+   *
+   * @param price next price of history.
+   */
+  @Override
+  public void accept(PriceAtTheMomentDto price) {
+    if (pending != null) {
+      add(pending);
+    }
+    pending = price;
+  }
+
+  /**
+   * Selects prices from buckets left after the last accepted price.
+   *
+   * @return kept prices, ordered by date.
+   */
+  List<PriceAtTheMomentDto> finish() {
+    if (pending == null) {
+      return selected;
+    }
+    if (!currentBucket.isEmpty()) {
+      double[] next = nextBucket.isEmpty() ? point(pending) : average(nextBucket);
+      selected.add(selectFrom(currentBucket, next));
+    }
+    if (!nextBucket.isEmpty()) {
+      selected.add(selectFrom(nextBucket, pending));
+    }
+    selected.add(pending);
+    pending = null;
+    return selected;
+  }
+
+  private void add(PriceAtTheMomentDto price) {
+    long index = accepted++;
+    if (index == 0 || bucketSize == 0) {
+      selected.add(price);
+      return;
+    }
+    int bucketIndex = (int) Math.min(maxPoints - 3, (long) ((index - 1) / bucketSize));
+    if (bucketIndex > nextBucketIndex) {
+      if (!currentBucket.isEmpty()) {
+        selected.add(selectFrom(currentBucket, average(nextBucket)));
+      }
+      currentBucket = nextBucket;
+      nextBucket = new ArrayList<>();
+      nextBucketIndex = bucketIndex;
+    }
+    nextBucket.add(price);
+  }
+
+  /** Selects price forming the largest triangle with the last selected one and given point. */
+  private PriceAtTheMomentDto selectFrom(List<PriceAtTheMomentDto> bucket, double[] next) {
+    PriceAtTheMomentDto previous = selected.get(selected.size() - 1);
+    double previousX = x(previous);
+    double previousY = y(previous);
+    PriceAtTheMomentDto largest = bucket.get(0);
+    double largestArea = -1;
+    for (PriceAtTheMomentDto price : bucket) {
+      double area =
+          Math.abs(
+              (previousX - next[0]) * (y(price) - previousY)
+                  - (previousX - x(price)) * (next[1] - previousY));
+      if (area > largestArea) {
+        largestArea = area;
+        largest = price;
+      }
+    }
+    return largest;
+  }
+
+  private PriceAtTheMomentDto selectFrom(
+      List<PriceAtTheMomentDto> bucket, PriceAtTheMomentDto next) {
+    return selectFrom(bucket, point(next));
+  }
+
+  private double[] point(PriceAtTheMomentDto price) {
+    return new double[] {x(price), y(price)};
+  }
+
+  private double[] average(List<PriceAtTheMomentDto> bucket) {
+    double x = 0;
+    double y = 0;
+    for (PriceAtTheMomentDto price : bucket) {
+      x += x(price);
+      y += y(price);
+    }
+    return new double[] {x / bucket.size(), y / bucket.size()};
+  }
+
+  private static double x(PriceAtTheMomentDto price) {
+    return price.getDate().toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private static double y(PriceAtTheMomentDto price) {
+    BigDecimal paid =
+        price.getPromotionalPrice() != null ? price.getPromotionalPrice() : price.getRetailPrice();
+    return paid != null ? paid.doubleValue() : 0;
+  }
+}
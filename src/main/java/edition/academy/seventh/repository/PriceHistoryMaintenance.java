@@ -0,0 +1,326 @@
+package edition.academy.seventh.repository;
+
+import edition.academy.seventh.model.DailyPrice;
+import edition.academy.seventh.model.PriceAtTheMoment;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@link PriceAtTheMoment price history} fast to write and read as years of it accumulate.
+ *
+ * <p>Prices older than retention window are rolled up into {@link DailyPrice daily prices} once a
+ * day. On PostgreSQL, price history can be stored in table partitioned by month of the price. Then
+ * partitions for the next months are created in advance, and partitions older than retention window
+ * are dropped as a whole instead of deleting their rows.
+ */
+@Component
+class PriceHistoryMaintenance {
+
+  private static final Logger logger = LoggerFactory.getLogger(PriceHistoryMaintenance.class);
+  private static final String TABLE = "price_at_the_moment";
+  private static final String UNPARTITIONED_TABLE = TABLE + "_unpartitioned";
+  private static final DateTimeFormatter PARTITION_NAME =
+      DateTimeFormatter.ofPattern("'" + TABLE + "_p'yyyy_MM");
+  private static final String IS_PARTITIONED_QUERY =
+      "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('" + TABLE + "')";
+  /** Aggregates prices of every book and day, the last price of the day has the highest id. */
+  private static final String DAILY_PRICES_INSERT =
+      "INSERT INTO daily_price (bookstoreBook_id, date, min_retail_price, max_retail_price, "
+          + "min_promotional_price, max_promotional_price, retail_price, promotional_price, "
+          + "currency) "
+          + "SELECT day_prices.bookstoreBook_id, day_prices.price_date, "
+          + "day_prices.min_retail_price, day_prices.max_retail_price, "
+          + "day_prices.min_promotional_price, day_prices.max_promotional_price, "
+          + "last.retail_price, last.promotional_price, last.currency "
+          + "FROM (SELECT bookstoreBook_id, CAST(date AS DATE) AS price_date, "
+          + "MIN(retail_price) AS min_retail_price, MAX(retail_price) AS max_retail_price, "
+          + "MIN(promotional_price) AS min_promotional_price, "
+          + "MAX(promotional_price) AS max_promotional_price, MAX(id) AS last_id "
+          + "FROM price_at_the_moment WHERE date >= :from AND date < :to "
+          + "GROUP BY bookstoreBook_id, CAST(date AS DATE)) day_prices "
+          + "JOIN price_at_the_moment last ON last.id = day_prices.last_id "
+          + "AND last.date >= :from AND last.date < :to";
+  private static final String PRICES_DELETE =
+      "DELETE FROM price_at_the_moment WHERE date >= :from AND date < :to";
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate readTransaction;
+  private final TransactionTemplate writeTransaction;
+  private final Clock clock;
+  private final int retentionDays;
+  private final int futurePartitions;
+  private boolean partitioning;
+
+  /**
+   * Creates maintenance of price history.
+   *
+   * @param entityManager shared between threads.
+   * @param transactionManager of the entity manager's factory.
+   * @param partitioning whether to partition price history by month, on PostgreSQL only.
+   * @param futurePartitions number of months, which partitions are created in advance.
+   * @param retentionDays after which prices are rolled up into daily prices, 0 keeps them all.
+   */
+  @Autowired
+  PriceHistoryMaintenance(
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      @Value("${robot.priceHistoryPartitioning:false}") boolean partitioning,
+      @Value("${robot.priceHistoryFuturePartitions:3}") int futurePartitions,
+      @Value("${robot.priceHistoryRetentionDays:365}") int retentionDays) {
+    this(
+        entityManager,
+        transactionManager,
+        partitioning,
+        futurePartitions,
+        retentionDays,
+        Clock.systemDefaultZone());
+  }
+
+  PriceHistoryMaintenance(
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      boolean partitioning,
+      int futurePartitions,
+      int retentionDays,
+      Clock clock) {
+    if (futurePartitions < 0 || retentionDays < 0) {
+      throw new IllegalArgumentException("Number of partitions and days cannot be negative");
+    }
+    this.entityManager = entityManager;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.partitioning = partitioning;
+    this.futurePartitions = futurePartitions;
+    this.retentionDays = retentionDays;
+    this.clock = clock;
+  }
+
+  /**
+   * Prepares price history saved by previous versions: moves id sequence past existing ids and,
+   * when enabled, moves prices into partitioned table.
+   */
+  @PostConstruct
+  void prepare() {
+    if (partitioning && !(getDialect() instanceof PostgreSQL81Dialect)) {
+      logger.warn("Price history can be partitioned only in PostgreSQL, partitioning is disabled");
+      partitioning = false;
+    }
+    if (partitioning) {
+      try {
+        partitionTable();
+      } catch (IllegalStateException e) {
+        logger.error(
+            "Price history was not partitioned, partitioning is disabled. " + e.getMessage());
+        partitioning = false;
+      }
+    }
+    alignIdSequence();
+  }
+
+  /** Creates partitions of the next months and rolls up prices older than retention window. */
+  @Scheduled(cron = "0 30 3 * * *")
+  void maintain() {
+    try {
+      if (partitioning) {
+        writeTransaction.execute(status -> createPartitions(YearMonth.now(clock)));
+      }
+      rollUp();
+    } catch (PersistenceException | DataAccessException | TransactionException e) {
+      logger.error("Maintenance of price history failed. " + e.getMessage());
+    }
+  }
+
+  /**
+   * Rolls up prices older than retention window into daily prices and removes them from price
+   * history. Every month is rolled up in its own transaction.
+   *
+   * @return number of created daily prices
+   */
+  int rollUp() {
+    if (retentionDays == 0) {
+      return 0;
+    }
+    LocalDateTime cutoff = LocalDate.now(clock).minusDays(retentionDays).atStartOfDay();
+    LocalDateTime oldest =
+        readTransaction.execute(
+            status ->
+                entityManager
+                    .createQuery(
+                        "SELECT MIN(p.date) FROM price_at_the_moment p", LocalDateTime.class)
+                    .getSingleResult());
+    if (oldest == null) {
+      return 0;
+    }
+
+    int created = 0;
+    for (YearMonth month = YearMonth.from(oldest);
+        month.atDay(1).atStartOfDay().isBefore(cutoff);
+        month = month.plusMonths(1)) {
+      created += rollUpMonth(month, cutoff);
+    }
+    if (created > 0) {
+      logger.info("Rolled up prices older than " + cutoff + " into " + created + " daily prices");
+    }
+    return created;
+  }
+
+  private int rollUpMonth(YearMonth month, LocalDateTime cutoff) {
+    LocalDateTime from = month.atDay(1).atStartOfDay();
+    LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+    boolean wholeMonth = !to.isAfter(cutoff);
+    LocalDateTime until = wholeMonth ? to : cutoff;
+    return writeTransaction.execute(
+        status -> {
+          int created = executeUpdate(DAILY_PRICES_INSERT, from, until);
+          if (partitioning && wholeMonth) {
+            entityManager
+                .createNativeQuery("DROP TABLE IF EXISTS " + month.format(PARTITION_NAME))
+                .executeUpdate();
+          }
+          executeUpdate(PRICES_DELETE, from, until);
+          return created;
+        });
+  }
+
+  private int executeUpdate(String statement, LocalDateTime from, LocalDateTime to) {
+    return entityManager
+        .createNativeQuery(statement)
+        .setParameter("from", from)
+        .setParameter("to", to)
+        .executeUpdate();
+  }
+
+  /**
+   * Moves prices of plain table into new one, partitioned by month of the price. Partitions are
+   * created for all months of existing prices and for the next ones, while prices of any other
+   * month go to the default partition. Primary key of partitioned table has to contain the date,
+   * so prices without date can not be moved. Table is not partitioned at all when there are any,
+   * or when any price was not moved for another reason.
+   *
+   * @throws IllegalStateException when not every price could be moved, the whole change is rolled
+   *     back then.
+   */
+  private void partitionTable() {
+    boolean partitioned = readTransaction.execute(status -> count(IS_PARTITIONED_QUERY) > 0);
+    if (partitioned) {
+      writeTransaction.execute(status -> createPartitions(YearMonth.now(clock)));
+      return;
+    }
+
+    writeTransaction.execute(
+        status -> {
+          long withoutDate = count("SELECT COUNT(*) FROM " + TABLE + " WHERE date IS NULL");
+          if (withoutDate > 0) {
+            throw new IllegalStateException(
+                withoutDate + " prices have no date, set or delete them before partitioning");
+          }
+          long prices = count("SELECT COUNT(*) FROM " + TABLE);
+          executeStatement("ALTER TABLE " + TABLE + " RENAME TO " + UNPARTITIONED_TABLE);
+          executeStatement(
+              "CREATE TABLE " + TABLE + " (LIKE " + UNPARTITIONED_TABLE + ", "
+                  + "CONSTRAINT " + TABLE + "_partitioned_pkey PRIMARY KEY (id, date), "
+                  + "CONSTRAINT " + TABLE + "_bookstore_book_fk FOREIGN KEY (bookstoreBook_id) "
+                  + "REFERENCES bookstore_book (hyperlink)) PARTITION BY RANGE (date)");
+          Timestamp oldest =
+              (Timestamp)
+                  entityManager
+                      .createNativeQuery("SELECT MIN(date) FROM " + UNPARTITIONED_TABLE)
+                      .getSingleResult();
+          createPartitions(
+              oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now(clock));
+          int moved =
+              executeStatement("INSERT INTO " + TABLE + " SELECT * FROM " + UNPARTITIONED_TABLE);
+          if (moved != prices) {
+            throw new IllegalStateException("Moved " + moved + " of " + prices + " prices");
+          }
+          executeStatement("DROP TABLE " + UNPARTITIONED_TABLE);
+          executeStatement(
+              "CREATE INDEX " + TABLE + "_book_date_idx ON " + TABLE + " (bookstoreBook_id, date)");
+          logger.info("Moved " + moved + " prices into partitioned price history");
+          return null;
+        });
+  }
+
+  /**
+   * Creates missing partitions of given month and the next {@link #futurePartitions} ones, as well
+   * as the default partition.
+   */
+  private Void createPartitions(YearMonth first) {
+    YearMonth last = YearMonth.now(clock).plusMonths(futurePartitions);
+    for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+      executeStatement(
+          "CREATE TABLE IF NOT EXISTS " + month.format(PARTITION_NAME) + " PARTITION OF " + TABLE
+              + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+              + month.plusMonths(1).atDay(1) + "')");
+    }
+    executeStatement(
+        "CREATE TABLE IF NOT EXISTS " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+    return null;
+  }
+
+  /**
+   * Restarts id sequence after the highest existing id, when prices were saved with ids generated
+   * by database. Sequence is pooled, so every its value reserves {@link
+   * PriceAtTheMoment#ID_ALLOCATION_SIZE} ids below it.
+   */
+  private void alignIdSequence() {
+    writeTransaction.execute(
+        status -> {
+          long next =
+              ((Number)
+                      entityManager
+                          .createNativeQuery(
+                              getDialect().getSequenceNextValString(PriceAtTheMoment.ID_SEQUENCE))
+                          .getSingleResult())
+                  .longValue();
+          Long maxId =
+              entityManager
+                  .createQuery("SELECT MAX(p.id) FROM price_at_the_moment p", Long.class)
+                  .getSingleResult();
+          if (maxId != null && next - PriceAtTheMoment.ID_ALLOCATION_SIZE < maxId) {
+            long restart = maxId + PriceAtTheMoment.ID_ALLOCATION_SIZE + 1;
+            executeStatement(
+                "ALTER SEQUENCE " + PriceAtTheMoment.ID_SEQUENCE + " RESTART WITH " + restart);
+            logger.info("Restarted sequence of price ids with " + restart);
+          }
+          return null;
+        });
+  }
+
+  private long count(String query) {
+    return ((Number) entityManager.createNativeQuery(query).getSingleResult()).longValue();
+  }
+
+  private int executeStatement(String statement) {
+    return entityManager.createNativeQuery(statement).executeUpdate();
+  }
+
+  private Dialect getDialect() {
+    return entityManager
+        .getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect();
+  }
+}
@@ -97,6 +97,8 @@ protected void configure(HttpSecurity http) throws Exception {
         .permitAll()
         .antMatchers("/bookUrl/**")
         .permitAll()
+        .antMatchers("/priceHistory")
+        .permitAll()
         .anyRequest()
         .authenticated()
         .and()
@@ -1,12 +1,12 @@
 package edition.academy.seventh.security.dao;
 
-import edition.academy.seventh.database.connector.ConnectorFactory;
-import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.security.model.Role;
 import edition.academy.seventh.security.model.RoleName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
@@ -16,8 +16,6 @@
 import javax.persistence.criteria.Root;
 import java.util.Optional;
 
-import static edition.academy.seventh.database.connector.DatabaseType.*;
-
 /**
  * Responsible for retrieving {@link Role roles} from database.
  *
@@ -26,11 +24,11 @@
 @Repository
 public class RoleRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(RoleRepository.class);
-  private ConnectorProvider connectorProvider;
   private EntityManager entityManager;
 
-  RoleRepository() {
-    connectorProvider = ConnectorFactory.of(POSTGRESQL);
+  @Autowired
+  RoleRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
   }
 
   /**
@@ -42,9 +40,8 @@ public class RoleRepository {
    * @return {@link Role} which name was passed as parameter.
    * @throws NoResultException when Role with given name wasn't found in database.
    */
+  @Transactional(readOnly = true)
   public Optional<Role> findByName(RoleName roleName) throws NoResultException {
-    entityManager = connectorProvider.getEntityManager();
-
     CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
     CriteriaQuery<Role> query = criteriaBuilder.createQuery(Role.class);
     Root<Role> from = query.from(Role.class);
@@ -57,8 +54,6 @@ public Optional<Role> findByName(RoleName roleName) throws NoResultException {
       LOGGER.error("Retrieving data from db unsuccessful. {}", message);
       throw new NoResultException(
           String.format("Retrieving data from db unsuccessful. Message: %s", message));
-    } finally {
-      entityManager.close();
     }
   }
 }
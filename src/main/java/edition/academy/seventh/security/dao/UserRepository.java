@@ -1,12 +1,15 @@
 package edition.academy.seventh.security.dao;
 
-import edition.academy.seventh.database.connector.ConnectorFactory;
-import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.security.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.*;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -15,11 +18,9 @@
 import javax.persistence.criteria.Root;
 import java.util.Optional;
 
-import static edition.academy.seventh.database.connector.DatabaseType.*;
-
 /**
  * Responsible for retrieving user from database and checking if given user exists while registering
- * a new account.
+ * a new account. Users are searched in read-only transactions.
  *
  * @author krzysztof.kramarz
  */
@@ -28,12 +29,14 @@ public class UserRepository {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UserRepository.class);
 
-  private ConnectorProvider connectorProvider;
   private EntityManager entityManager;
+  private TransactionTemplate writeTransaction;
 
   @Autowired
-  public UserRepository() {
-    connectorProvider = ConnectorFactory.of(POSTGRESQL);
+  public UserRepository(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
   }
 
   /**
@@ -45,9 +48,8 @@ public UserRepository() {
    * @return {@link User} which username was passed as parameter.
    * @throws NoResultException when user with given name wasn't found in database.
    */
+  @Transactional(readOnly = true)
   public Optional<User> findByUsername(String username) throws NoResultException {
-    entityManager = connectorProvider.getEntityManager();
-
     CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
     CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
     Root<User> from = query.from(User.class);
@@ -60,8 +62,6 @@ public Optional<User> findByUsername(String username) throws NoResultException {
       LOGGER.error("Retrieving data from db unsuccessful. {}", message);
       throw new NoResultException(
           String.format("Retrieving data from db unsuccessful. Message: %s", message));
-    } finally {
-      entityManager.close();
     }
   }
 
@@ -76,8 +76,6 @@ public Optional<User> findByUsername(String username) throws NoResultException {
    * @throws NoResultException when user with given email wasn't found in database.
    */
   private Optional<User> findByEmail(String email) throws NoResultException {
-    entityManager = connectorProvider.getEntityManager();
-
     CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
     CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
     Root<User> from = query.from(User.class);
@@ -90,8 +88,6 @@ private Optional<User> findByEmail(String email) throws NoResultException {
       LOGGER.error("Retrieving data from db unsuccessful. {}", message);
       throw new NoResultException(
           String.format("Retrieving data from db unsuccessful. Message: %s", message));
-    } finally {
-      entityManager.close();
     }
   }
 
@@ -103,21 +99,18 @@ private Optional<User> findByEmail(String email) throws NoResultException {
    *         if otherwise.
    */
   public boolean saveUser(User user) {
-    entityManager = connectorProvider.getEntityManager();
-    EntityTransaction transaction = entityManager.getTransaction();
-    transaction.begin();
     try {
-      entityManager.persist(user);
-      transaction.commit();
-    } catch (EntityExistsException
-        | TransactionRequiredException
+      writeTransaction.execute(
+          status -> {
+            entityManager.persist(user);
+            return null;
+          });
+    } catch (PersistenceException
         | IllegalArgumentException
-        | RollbackException
-        | IllegalStateException e) {
+        | DataAccessException
+        | TransactionException e) {
       LOGGER.error("Persisting data failed. {}", e.getMessage());
       return false;
-    } finally {
-      entityManager.close();
     }
     return true;
   }
@@ -129,6 +122,7 @@ public boolean saveUser(User user) {
    * @return true if {@link User} with given username does exist in database
    *         or false otherwise.
    */
+  @Transactional(readOnly = true)
   public Boolean existsByUsername(String username) {
     try {
       findByUsername(username);
@@ -145,6 +139,7 @@ public Boolean existsByUsername(String username) {
    * @return true if {@link User} with given email does exist in database
    *         or false otherwise.
    */
+  @Transactional(readOnly = true)
   public Boolean existsByEmail(String email) {
     try {
       findByEmail(email);
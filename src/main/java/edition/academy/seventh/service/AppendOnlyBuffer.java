@@ -0,0 +1,80 @@
+package edition.academy.seventh.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free, append-only collection shared by many producer threads and drained by one consumer.
+ *
+ * <p>Every {@link #addAll(Collection)} call appends a single chunk to a {@link
+ * ConcurrentLinkedQueue}, so adding is constant time regardless of how many elements are already
+ * stored. Chunks are merged into one {@link List} only once, when the buffer is drained.
+ *
+ * @param <E> type of stored elements.
+ */
+public class AppendOnlyBuffer<E> {
+
+  private final Queue<List<E>> chunks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Appends single element.
+   *
+   * @param element to be appended.
+   */
+  public void add(E element) {
+    append(Collections.singletonList(element));
+  }
+
+  /**
+   * Appends all given elements as a single chunk. Given collection is copied, so it can be reused
+   * by the caller.
+   *
+   * @param elements to be appended.
+   */
+  public void addAll(Collection<? extends E> elements) {
+    if (!elements.isEmpty()) {
+      append(new ArrayList<>(elements));
+    }
+  }
+
+  /**
+   * Retrieves number of elements appended and not drained yet.
+   *
+   * @return number of stored elements.
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Removes all chunks appended so far and merges them into one list. Elements appended
+   * concurrently with draining are either part of the result or stay in the buffer.
+   *
+   * @return {@code List<E>} of drained elements, in order of chunks appending.
+   */
+  public List<E> drain() {
+    List<List<E>> drained = new ArrayList<>();
+    int drainedSize = 0;
+    List<E> chunk;
+    while ((chunk = chunks.poll()) != null) {
+      drained.add(chunk);
+      drainedSize += chunk.size();
+    }
+    size.addAndGet(-drainedSize);
+
+    List<E> elements = new ArrayList<>(drainedSize);
+    drained.forEach(elements::addAll);
+    return elements;
+  }
+
+  private void append(List<E> chunk) {
+    chunks.offer(chunk);
+    size.addAndGet(chunk.size());
+  }
+}
@@ -1,47 +1,160 @@
 package edition.academy.seventh.service;
 
+import edition.academy.seventh.database.model.BookDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
+ * Downloads details of books by their ISBN. Up to {@code concurrency} books are downloaded at the
+ * same time, every request is limited by timeout and retried when it fails. Books found in {@link
+ * BookDetailsCache} are not downloaded again.
+ *
  * @author Marcin Ogorzałek
  * @author Ola Podorska
  */
 @Component
-class BookDataDownloader {
+class BookDataDownloader implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(BookDataDownloader.class);
 
   private final String bookstoreBookUrl;
   private final BookstoreConnector bookstoreConnector;
+  private final JsonDataProcessor jsonDataProcessor;
+  private final BookDetailsCache bookDetailsCache;
+  private final ExecutorService executorService;
+  private final long timeoutMillis;
+  private final int maxRetries;
 
   @Autowired
   BookDataDownloader(
       @Value("https://api.itbook.store/1.0/books/") String bookstoreBookUrl,
-      BookstoreConnector bookstoreConnector) {
+      BookstoreConnector bookstoreConnector,
+      JsonDataProcessor jsonDataProcessor,
+      BookDetailsCache bookDetailsCache,
+      @Value("${robot.itbookConcurrency:8}") int concurrency,
+      @Value("${robot.itbookTimeout:10000}") long timeoutMillis,
+      @Value("${robot.itbookMaxRetries:2}") int maxRetries) {
     this.bookstoreBookUrl = bookstoreBookUrl;
     this.bookstoreConnector = bookstoreConnector;
+    this.jsonDataProcessor = jsonDataProcessor;
+    this.bookDetailsCache = bookDetailsCache;
+    this.executorService = Executors.newFixedThreadPool(concurrency, namedThreadFactory());
+    this.timeoutMillis = timeoutMillis;
+    this.maxRetries = maxRetries;
   }
 
-  List<String> listBooksByIsbn(List<String> isbns) {
-    List<String> books = new ArrayList<>();
+  List<BookDto> listBooksByIsbn(List<String> isbns) {
+    List<BookDto> books = new ArrayList<>();
+    streamBooksByIsbn(isbns, books::add);
+    return books;
+  }
+
+  /**
+   * Downloads books concurrently and passes each of them to the consumer as soon as it is
+   * downloaded, in order of completion. Consumer is called in the calling thread. Books which could
+   * not be downloaded after all retries are skipped.
+   *
+   * @param isbns of books to download.
+   * @param bookConsumer receives every downloaded or cached book.
+   */
+  void streamBooksByIsbn(List<String> isbns, Consumer<BookDto> bookConsumer) {
+    BlockingQueue<Optional<BookDto>> downloadedBooks = new LinkedBlockingQueue<>();
     for (String isbn : isbns) {
-      String jsonResponse = generateValidJson(isbn);
-      books.add(jsonResponse);
+      download(isbn, maxRetries)
+          .whenComplete(
+              (book, error) -> {
+                if (error != null) {
+                  logger.error("Could not download book " + isbn + ". " + error.getMessage());
+                }
+                downloadedBooks.add(Optional.ofNullable(book));
+              });
     }
-    return books;
+    try {
+      for (int i = 0; i < isbns.size(); i++) {
+        downloadedBooks.take().ifPresent(bookConsumer);
+      }
+    } catch (InterruptedException e) {
+      logger.error("Downloading books interrupted");
+      Thread.currentThread().interrupt();
+    }
+    logger.info("ITBook books cache: " + bookDetailsCache);
+  }
+
+  /** Stops downloading threads when application context closes. */
+  @Override
+  public void destroy() {
+    executorService.shutdownNow();
+  }
+
+  private CompletableFuture<BookDto> download(String isbn, int retriesLeft) {
+    return CompletableFuture.supplyAsync(() -> downloadBook(isbn), executorService)
+        .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+        .handle(
+            (book, error) -> {
+              if (error == null) {
+                return CompletableFuture.completedFuture(book);
+              }
+              if (retriesLeft > 0) {
+                logger.warn("Retrying download of book " + isbn + ". " + error.getMessage());
+                return download(isbn, retriesLeft - 1);
+              }
+              return CompletableFuture.<BookDto>failedFuture(error);
+            })
+        .thenCompose(Function.identity());
   }
 
-  private String generateValidJson(String isbn) {
-    String jsonResponse = bookstoreConnector.getJsonResponse(createBookFullUrl(isbn));
-    jsonResponse = jsonResponse.replaceAll("\\$", "");
-    jsonResponse = jsonResponse.replace("}",",\"currency\":\"$\"}");
-    return jsonResponse;
+  private BookDto downloadBook(String isbn) {
+    Optional<byte[]> cachedBook = bookDetailsCache.get(isbn);
+    if (cachedBook.isPresent()) {
+      try {
+        return readBook(cachedBook.get());
+      } catch (IOException e) {
+        logger.warn("Downloading again invalid cached book " + isbn + ". " + e.getMessage());
+      }
+    }
+    return bookstoreConnector.getResponse(
+        createBookFullUrl(isbn),
+        body -> {
+          byte[] response = body.readAllBytes();
+          BookDto book = readBook(response);
+          bookDetailsCache.put(isbn, response);
+          return book;
+        });
+  }
+
+  private BookDto readBook(byte[] response) throws IOException {
+    return jsonDataProcessor.readBook(new ByteArrayInputStream(response));
   }
 
   private String createBookFullUrl(String isbn) {
     return bookstoreBookUrl + isbn;
   }
+
+  private static ThreadFactory namedThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "itbook-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
 }
@@ -0,0 +1,206 @@
+package edition.academy.seventh.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * On-disk cache of ITBook's book details keyed by ISBN. Every entry holds response of
+ * "books/{isbn}" endpoint and expires after given time to live. When number of entries exceeds
+ * the limit, the oldest ones are evicted. Entries survive application restarts.
+ */
+@Component
+class BookDetailsCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(BookDetailsCache.class);
+  private static final String EXTENSION = ".json";
+
+  private final Path directory;
+  private final boolean enabled;
+  private final Duration timeToLive;
+  private final int maxEntries;
+  private final Clock clock;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final AtomicInteger entries = new AtomicInteger(-1);
+
+  /**
+   * Creates cache storing its entries in given directory.
+   *
+   * @param directory where entries are stored, created when missing.
+   * @param enabled when false, cache neither stores nor returns any entries.
+   * @param timeToLiveHours after which entry is downloaded again.
+   * @param maxEntries maximal number of stored entries.
+   */
+  @Autowired
+  BookDetailsCache(
+      @Value("${robot.itbookCacheDirectory:.robot-cache/itbook}") String directory,
+      @Value("${robot.itbookCacheEnabled:true}") boolean enabled,
+      @Value("${robot.itbookCacheTtlHours:168}") long timeToLiveHours,
+      @Value("${robot.itbookCacheMaxEntries:10000}") int maxEntries) {
+    this(
+        Paths.get(directory),
+        enabled,
+        Duration.ofHours(timeToLiveHours),
+        maxEntries,
+        Clock.systemUTC());
+  }
+
+  BookDetailsCache(
+      Path directory, boolean enabled, Duration timeToLive, int maxEntries, Clock clock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Maximal number of entries must be positive");
+    }
+    this.directory = directory;
+    this.enabled = enabled;
+    this.timeToLive = timeToLive;
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+  }
+
+  /**
+   * Retrieves cached details of given book. Expired entry is removed and counted as miss.
+   *
+   * @param isbn of the book.
+   * @return response of ITBook's API or empty {@link Optional} when book is not cached.
+   */
+  Optional<byte[]> get(String isbn) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Path entry = entryOf(isbn);
+    try {
+      if (Files.exists(entry) && isExpired(Files.getLastModifiedTime(entry))) {
+        delete(entry);
+      }
+      if (Files.exists(entry)) {
+        byte[] book = Files.readAllBytes(entry);
+        hits.increment();
+        return Optional.of(book);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not read cached book " + isbn + ". " + e.getMessage());
+    }
+    misses.increment();
+    return Optional.empty();
+  }
+
+  /**
+   * Stores details of given book, replacing previous ones. Evicts the oldest entries when the
+   * cache is full. Temporary file is removed when the entry could not be stored.
+   *
+   * @param isbn of the book.
+   * @param book response of ITBook's API.
+   */
+  void put(String isbn, byte[] book) {
+    if (!enabled) {
+      return;
+    }
+    Path entry = entryOf(isbn);
+    try {
+      Files.createDirectories(directory);
+      boolean added = !Files.exists(entry);
+      AtomicInteger count = countEntries();
+      Path temporary = Files.createTempFile(directory, "book", ".tmp");
+      try {
+        Files.write(temporary, book);
+        Files.setLastModifiedTime(temporary, FileTime.from(clock.instant()));
+        Files.move(
+            temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      if (added && count.incrementAndGet() > maxEntries) {
+        evict();
+      }
+    } catch (IOException e) {
+      logger.warn("Could not cache book " + isbn + ". " + e.getMessage());
+    }
+  }
+
+  long getHits() {
+    return hits.sum();
+  }
+
+  long getMisses() {
+    return misses.sum();
+  }
+
+  @Override
+  public String toString() {
+    return getHits() + " hits, " + getMisses() + " misses";
+  }
+
+  private synchronized void evict() throws IOException {
+    List<Path> oldestFirst;
+    try (Stream<Path> stream = listEntries()) {
+      oldestFirst =
+          stream.sorted(Comparator.comparing(this::lastModified)).collect(Collectors.toList());
+    }
+    int toEvict = oldestFirst.size() - maxEntries;
+    for (Path entry : oldestFirst) {
+      if (toEvict <= 0 && !isExpired(lastModified(entry))) {
+        break;
+      }
+      delete(entry);
+      toEvict--;
+    }
+    entries.set(countFiles());
+  }
+
+  private AtomicInteger countEntries() throws IOException {
+    if (entries.get() < 0) {
+      entries.compareAndSet(-1, countFiles());
+    }
+    return entries;
+  }
+
+  private int countFiles() throws IOException {
+    try (Stream<Path> stream = listEntries()) {
+      return (int) stream.count();
+    }
+  }
+
+  private Stream<Path> listEntries() throws IOException {
+    return Files.list(directory).filter(path -> path.toString().endsWith(EXTENSION));
+  }
+
+  private FileTime lastModified(Path entry) {
+    try {
+      return Files.getLastModifiedTime(entry);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private boolean isExpired(FileTime stored) {
+    return stored.toInstant().plus(timeToLive).isBefore(clock.instant());
+  }
+
+  private void delete(Path entry) throws IOException {
+    if (Files.deleteIfExists(entry) && entries.get() > 0) {
+      entries.decrementAndGet();
+    }
+  }
+
+  private Path entryOf(String isbn) {
+    return directory.resolve(isbn.replaceAll("[^0-9A-Za-z-]", "_") + EXTENSION);
+  }
+}
@@ -2,11 +2,13 @@
 
 import edition.academy.seventh.database.model.BookDto;
 import edition.academy.seventh.database.model.BookstoreBookDto;
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
 import edition.academy.seventh.model.BookstoreBook;
 import edition.academy.seventh.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -27,9 +29,20 @@ public BookService(BookRepository bookRepository) {
    * Adds given books to database {@link BookDto}.
    *
    * @param bookDtos {@code List<BookDto>} to be added
+   * @return number of saved books, lower than the number of given ones when saving some failed.
    */
-  public void addBooksToDatabase(List<BookDto> bookDtos) {
-    bookRepository.addBooksToDatabase(bookDtos);
+  public int addBooksToDatabase(List<BookDto> bookDtos) {
+    return bookRepository.addBooksToDatabase(bookDtos);
+  }
+
+  /**
+   * Marks latest offers of given books as still valid, without saving their prices again.
+   *
+   * @param hrefs links to the books found on pages which have not changed since previous run.
+   * @return number of updated offers.
+   */
+  public int markOffersAsSeen(List<String> hrefs) {
+    return bookRepository.markOffersAsSeen(hrefs);
   }
 
   /**
@@ -50,4 +63,18 @@ public List<BookDto> getBooksFromDatabase() {
   public BookstoreBookDto getBookstoreBookDtoByHref(String href) {
     return bookRepository.getBookstoreBookDtoByHref(href);
   }
+
+  /**
+   * Retrieves prices of specific book from given time range, downsampled to given number of points.
+   *
+   * @param href link to the book.
+   * @param from beginning of the range, inclusive, or null when the range has no beginning.
+   * @param to end of the range, exclusive, or null when the range has no end.
+   * @param maxPoints maximal number of retrieved prices, at least 3.
+   * @return {@code List<PriceAtTheMomentDto>} ordered by date.
+   */
+  public List<PriceAtTheMomentDto> getPriceHistory(
+      String href, LocalDateTime from, LocalDateTime to, int maxPoints) {
+    return bookRepository.getPriceHistory(href, from, to, maxPoints);
+  }
 }
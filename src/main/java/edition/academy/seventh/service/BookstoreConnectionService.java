@@ -1,6 +1,8 @@
 package edition.academy.seventh.service;
 
+import edition.academy.seventh.database.model.BookDto;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Provide API to get books on sale from given bookstore.
@@ -11,9 +13,19 @@
 public interface BookstoreConnectionService {
 
   /**
-   * Return books from bookstore as list JSON String to further processing.
+   * Return books from bookstore, deserialized from its responses, to further processing.
    *
-   * @return list of book JSON as strings
+   * @return list of books
    */
-  List<String> getListOfBooksAsString();
+  List<BookDto> getListOfBooks();
+
+  /**
+   * Passes books from bookstore to the consumer as soon as each of them is available. By default
+   * waits for {@link #getListOfBooks()}.
+   *
+   * @param bookConsumer receives every book
+   */
+  default void streamBooks(Consumer<BookDto> bookConsumer) {
+    getListOfBooks().forEach(bookConsumer);
+  }
 }
@@ -1,17 +1,59 @@
 package edition.academy.seventh.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 /**
+ * Downloads responses of bookstores' APIs through pooled client, see {@link
+ * BookstoreConnectorConfiguration}.
+ *
  * @author Ola Podorska
  * @author Marcin Ogorzalek
  */
 @Component
 class BookstoreConnector {
 
+  private final RestTemplate restTemplate;
+  private final BookstoreConnectorMetrics metrics;
+
+  @Autowired
+  BookstoreConnector(
+      @Qualifier("bookstoreRestTemplate") RestTemplate restTemplate,
+      BookstoreConnectorMetrics metrics) {
+    this.restTemplate = restTemplate;
+    this.metrics = metrics;
+  }
+
   String getJsonResponse(String url) {
-    RestTemplate template = new RestTemplate();
-    return template.getForObject(url, String.class);
+    return restTemplate.getForObject(url, String.class);
+  }
+
+  /**
+   * Passes response body to the reader as it arrives, so it is never held in memory as a whole.
+   *
+   * @param url of requested resource.
+   * @param reader deserializing response body.
+   * @param <T> type of deserialized response.
+   * @return response read by the reader.
+   */
+  <T> T getResponse(String url, ResponseReader<T> reader) {
+    return restTemplate.execute(
+        url, HttpMethod.GET, null, response -> reader.read(response.getBody()));
+  }
+
+  BookstoreConnectorMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** Reads response body, e.g. with Jackson's {@code ObjectReader}. */
+  @FunctionalInterface
+  interface ResponseReader<T> {
+
+    T read(InputStream body) throws IOException;
   }
 }
@@ -0,0 +1,88 @@
+package edition.academy.seventh.service;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Provides pooled HTTP client used by {@link BookstoreConnector}. Connections are kept alive and
+ * reused between requests, responses are requested and decompressed with gzip.
+ */
+@Configuration
+class BookstoreConnectorConfiguration {
+
+  /**
+   * @param maxConnections maximal number of open connections.
+   * @param maxConnectionsPerRoute maximal number of open connections to single host.
+   * @return pool of connections shared by all bookstore requests.
+   */
+  @Bean(destroyMethod = "close")
+  PoolingHttpClientConnectionManager bookstoreConnectionManager(
+      @Value("${robot.httpMaxConnections:20}") int maxConnections,
+      @Value("${robot.httpMaxConnectionsPerRoute:10}") int maxConnectionsPerRoute) {
+    PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    return connectionManager;
+  }
+
+  /**
+   * @param connectionManager pool of connections.
+   * @param connectTimeout timeout of establishing connection in milliseconds.
+   * @param readTimeout timeout of waiting for data in milliseconds.
+   * @param connectionRequestTimeout timeout of waiting for free connection in pool in
+   *     milliseconds.
+   * @param keepAlive maximal time of keeping idle connection open in milliseconds.
+   * @return client sending requests through given pool.
+   */
+  @Bean(destroyMethod = "close")
+  CloseableHttpClient bookstoreHttpClient(
+      PoolingHttpClientConnectionManager connectionManager,
+      @Value("${robot.httpConnectTimeout:5000}") int connectTimeout,
+      @Value("${robot.httpReadTimeout:10000}") int readTimeout,
+      @Value("${robot.httpConnectionRequestTimeout:5000}") int connectionRequestTimeout,
+      @Value("${robot.httpKeepAlive:30000}") long keepAlive) {
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .setConnectionRequestTimeout(connectionRequestTimeout)
+            .build();
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(
+            (response, context) -> {
+              long serverKeepAlive =
+                  DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(
+                      response, context);
+              return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+            })
+        .evictExpiredConnections()
+        .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * @param httpClient pooled client.
+   * @param metrics recording latency of every request.
+   * @return template used by {@link BookstoreConnector}.
+   */
+  @Bean
+  RestTemplate bookstoreRestTemplate(
+      CloseableHttpClient httpClient, BookstoreConnectorMetrics metrics) {
+    RestTemplate restTemplate =
+        new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    restTemplate.getInterceptors().add(metrics);
+    return restTemplate;
+  }
+}
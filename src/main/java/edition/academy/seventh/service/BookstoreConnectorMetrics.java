@@ -0,0 +1,94 @@
+package edition.academy.seventh.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures requests sent by {@link BookstoreConnector}: their number, failures and latency, and
+ * utilisation of the pool of connections they are sent through.
+ */
+@Component
+class BookstoreConnectorMetrics implements ClientHttpRequestInterceptor {
+
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+  @Autowired
+  BookstoreConnectorMetrics(PoolingHttpClientConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    long start = System.nanoTime();
+    try {
+      ClientHttpResponse response = execution.execute(request, body);
+      if (response.getStatusCode().isError()) {
+        failures.increment();
+      }
+      return response;
+    } catch (IOException | RuntimeException e) {
+      failures.increment();
+      throw e;
+    } finally {
+      long latency = System.nanoTime() - start;
+      requests.increment();
+      totalLatencyNanos.add(latency);
+      maxLatencyNanos.accumulate(latency);
+    }
+  }
+
+  long getRequests() {
+    return requests.sum();
+  }
+
+  long getFailures() {
+    return failures.sum();
+  }
+
+  /** @return mean time to response headers in milliseconds, 0 when nothing was sent yet. */
+  double getMeanLatencyMillis() {
+    long count = requests.sum();
+    return count == 0 ? 0 : totalLatencyNanos.sum() / (count * 1_000_000d);
+  }
+
+  long getMaxLatencyMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+  }
+
+  /** @return numbers of leased, idle and awaited connections of the pool. */
+  PoolStats getPoolStats() {
+    return connectionManager.getTotalStats();
+  }
+
+  @Override
+  public String toString() {
+    PoolStats poolStats = getPoolStats();
+    return String.format(
+        "%d requests (%d failed), mean latency %.1f ms, max %d ms; pool: %d leased, %d idle, "
+            + "%d pending of %d",
+        getRequests(),
+        getFailures(),
+        getMeanLatencyMillis(),
+        getMaxLatencyMillis(),
+        poolStats.getLeased(),
+        poolStats.getAvailable(),
+        poolStats.getPending(),
+        poolStats.getMax());
+  }
+}
@@ -1,7 +1,5 @@
 package edition.academy.seventh.service;
 
-import edition.academy.seventh.database.connector.ConnectorFactory;
-import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.security.model.request.RegisterForm;
 import edition.academy.seventh.security.service.AuthenticationService;
 import javax.annotation.PostConstruct;
@@ -9,13 +7,13 @@
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import java.util.Set;
 
-import static edition.academy.seventh.database.connector.DatabaseType.*;
-
 /** @author Patryk Kucharski */
 @Service
 public class DatabaseInitializer {
@@ -23,13 +21,16 @@ public class DatabaseInitializer {
   private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseInitializer.class);
   private AuthenticationService authenticationService;
   private EntityManager entityManager;
-  private ConnectorProvider connectorProvider;
+  private TransactionTemplate writeTransaction;
 
   @Autowired
   public DatabaseInitializer(
-      AuthenticationService authenticationService) {
-    connectorProvider = ConnectorFactory.of(POSTGRESQL);
+      AuthenticationService authenticationService,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager) {
     this.authenticationService = authenticationService;
+    this.entityManager = entityManager;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
   }
   /* TODO: 30.07.1 Nie usuwać - do poprawy w następnym sprincie. Przy każdym uruchomieniu aplikacji, program próbuje dodać role
   // TODO: i konto administratora. Po pierwszym uruchomieniu one już tam są, przez co wyrzuca nam wyjątek.
@@ -56,14 +57,13 @@ private void addAdminsToDatabase() {
   }
 
   private void addUserRolesToDatabase() {
-    entityManager = connectorProvider.getEntityManager();
     LOGGER.info("Adding user roles");
-    entityManager.getTransaction().begin();
-    Query nativeQuery = entityManager.createNativeQuery(
-            "INSERT INTO role(name) VALUES('ROLE_ADMIN');\n"
-                    + "INSERT INTO role(name) VALUES('ROLE_USER');");
-    nativeQuery.executeUpdate();
-    entityManager.getTransaction().commit();
-    entityManager.close();
+    writeTransaction.execute(
+        status -> {
+          Query nativeQuery = entityManager.createNativeQuery(
+                  "INSERT INTO role(name) VALUES('ROLE_ADMIN');\n"
+                          + "INSERT INTO role(name) VALUES('ROLE_USER');");
+          return nativeQuery.executeUpdate();
+        });
   }
 }
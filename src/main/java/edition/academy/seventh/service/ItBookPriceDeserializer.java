@@ -0,0 +1,41 @@
+package edition.academy.seventh.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads price of ITBook's book, given either as number or as text with currency sign, e.g.
+ * "$44.99". Prices without any digit are read as {@code null}.
+ */
+class ItBookPriceDeserializer extends StdScalarDeserializer<BigDecimal> {
+
+  ItBookPriceDeserializer() {
+    super(BigDecimal.class);
+  }
+
+  @Override
+  public BigDecimal deserialize(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return parser.getDecimalValue();
+    }
+    if (token != JsonToken.VALUE_STRING) {
+      return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+    }
+    String price = parser.getText().replaceAll("[^0-9.]", "");
+    if (price.isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(price);
+    } catch (NumberFormatException e) {
+      return (BigDecimal)
+          context.handleWeirdStringValue(BigDecimal.class, parser.getText(), "not a valid price");
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package edition.academy.seventh.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import edition.academy.seventh.database.model.BookDto;
 import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,9 @@
 @Service
 public class ItbookBookstoreConnectionService implements BookstoreConnectionService {
 
+  private static final Logger logger =
+      LoggerFactory.getLogger(ItbookBookstoreConnectionService.class);
+
   private final String bookstoreAllBooksUrl;
   private final BookstoreConnector bookstoreConnector;
   private final BookDataDownloader bookDataDownloader;
@@ -41,11 +47,26 @@ public ItbookBookstoreConnectionService(
    * @return {@inheritDoc}
    */
   @Override
-  public List<String> getListOfBooksAsString() {
-    bookstoreConnector.getJsonResponse(bookstoreAllBooksUrl);
-    String booksAsJson = bookstoreConnector.getJsonResponse(bookstoreAllBooksUrl);
-    JsonNode mappedBooksJson = jsonDataProcessor.mapJsonString(booksAsJson);
-    List<String> isbns = jsonDataProcessor.convertJsonToBookIsbn(mappedBooksJson);
-    return bookDataDownloader.listBooksByIsbn(isbns);
+  public List<BookDto> getListOfBooks() {
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(getIsbns());
+    logger.info("ITBook connections: " + bookstoreConnector.getMetrics());
+    return books;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Details of books are downloaded concurrently and passed on in order of completion.
+   *
+   * @param bookConsumer {@inheritDoc}
+   */
+  @Override
+  public void streamBooks(Consumer<BookDto> bookConsumer) {
+    bookDataDownloader.streamBooksByIsbn(getIsbns(), bookConsumer);
+    logger.info("ITBook connections: " + bookstoreConnector.getMetrics());
+  }
+
+  private List<String> getIsbns() {
+    return bookstoreConnector.getResponse(bookstoreAllBooksUrl, jsonDataProcessor::readIsbns);
   }
 }
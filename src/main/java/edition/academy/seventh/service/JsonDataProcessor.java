@@ -1,36 +1,99 @@
 package edition.academy.seventh.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.stereotype.Component;
-
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import edition.academy.seventh.database.model.BookDto;
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import org.springframework.stereotype.Component;
 
 /**
+ * Reads JSON responses of ITBook's API. Single {@link ObjectMapper} and readers created from it are
+ * thread-safe and shared by all downloads. Responses are read incrementally from their streams,
+ * without building tree of the whole document.
+ *
  * @author Marcin Ogorzałek
  * @author Ola Podorska
  */
 @Component
 class JsonDataProcessor {
 
-  JsonNode mapJsonString(String json) {
-    ObjectMapper objectMapper = new ObjectMapper();
-    JsonNode jsonNode = null;
-    try {
-      jsonNode = objectMapper.readValue(json, JsonNode.class);
-    } catch (IOException exception) {
-      System.err.println(exception.getMessage());
-    }
-    return jsonNode;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader bookReader;
+
+  JsonDataProcessor() {
+    this.objectMapper = new ObjectMapper().addMixIn(BookDto.class, ItBookDtoMixIn.class);
+    this.bookReader = objectMapper.readerFor(BookDto.class);
   }
 
-  List<String> convertJsonToBookIsbn(JsonNode jsonNode) {
+  /**
+   * Extracts ISBNs of books listed by "new" or "search" endpoint with streaming parser. Every field
+   * other than "isbn13" of the books is skipped without being read into memory.
+   *
+   * @param json response listing books in "books" array.
+   * @return ISBNs in order of the books, empty when response has no "books" array.
+   * @throws IOException when response is not valid JSON object.
+   */
+  List<String> readIsbns(InputStream json) throws IOException {
     List<String> isbns = new ArrayList<>();
-    for (JsonNode node : jsonNode.get("books")) {
-      isbns.add(node.get("isbn13").asText());
+    try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Expected object with list of books");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        if (parser.nextToken() == JsonToken.START_ARRAY && "books".equals(field)) {
+          readIsbnsOfBooks(parser, isbns);
+        } else {
+          parser.skipChildren();
+        }
+      }
     }
     return isbns;
   }
+
+  /**
+   * Deserializes details of single book straight from response body, without reading it into
+   * String first.
+   *
+   * @param json response of "books/{isbn}" endpoint.
+   * @return book with price stripped of currency sign.
+   * @throws IOException when response is not valid book JSON.
+   */
+  BookDto readBook(InputStream json) throws IOException {
+    return bookReader.readValue(json);
+  }
+
+  private void readIsbnsOfBooks(JsonParser parser, List<String> isbns) throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+      if (token != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if ("isbn13".equals(field) && parser.currentToken().isScalarValue()) {
+          isbns.add(parser.getValueAsString());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  /** Replaces deserializer of ITBook's prices, which are given with currency sign. */
+  private abstract static class ItBookDtoMixIn {
+
+    @JsonDeserialize(using = ItBookPriceDeserializer.class)
+    private BigDecimal retailPrice;
+  }
 }
@@ -0,0 +1,196 @@
+package edition.academy.seventh.service;
+
+import edition.academy.seventh.database.model.BookDto;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Connects {@link PromotionProviderManager} with {@link BookService}. Books scrapped by providers
+ * are passed through a bounded queue to a single writer thread, which saves them in database while
+ * the remaining pages are still being scrapped.
+ *
+ * <p>When the queue is full, providers wait for the writer, so memory usage does not depend on
+ * the number of scrapped books. Books of pages which have not changed since previous run are not
+ * saved again, the writer only marks their latest offers as still valid. Providers are notified
+ * about every page whose books are all saved.
+ */
+@Service
+public class PromotionPipeline {
+
+  private static final Logger logger = LoggerFactory.getLogger(PromotionPipeline.class);
+  private static final ScrappedPage END_OF_BOOKS = new ScrappedPage(List.of(), List.of(), null);
+
+  private final PromotionProviderManager providerManager;
+  private final BookService bookService;
+  private final int queueCapacity;
+
+  @Autowired
+  public PromotionPipeline(
+      PromotionProviderManager providerManager,
+      BookService bookService,
+      @Value("${robot.pipelineCapacity:16}") int queueCapacity) {
+    this.providerManager = providerManager;
+    this.bookService = bookService;
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * Runs all registered providers and saves their results in database as soon as every single
+   * page is scrapped. Returns when all scrapped books are saved.
+   *
+   * @throws ProvidersNotFoundException when there are no registered {@link PromotionProvider
+   *     promotion providers}.
+   */
+  public void run() throws ProvidersNotFoundException {
+    BlockingQueue<ScrappedPage> queue = new ArrayBlockingQueue<>(queueCapacity);
+    Thread writer = new Thread(() -> writeBooks(queue), "books-writer");
+    writer.setDaemon(true);
+    writer.start();
+
+    AtomicInteger unchangedPages = new AtomicInteger();
+    try {
+      providerManager.streamScrappedBooks(
+          new ScrappedBooksConsumer() {
+            @Override
+            public void accept(List<BookDto> books) {
+              put(queue, new ScrappedPage(books, List.of(), null));
+            }
+
+            @Override
+            public void accept(List<BookDto> books, Runnable onSaved) {
+              put(queue, new ScrappedPage(books, List.of(), onSaved));
+            }
+
+            @Override
+            public void pageUnchanged(String url, List<String> hrefs) {
+              unchangedPages.incrementAndGet();
+              if (!hrefs.isEmpty()) {
+                put(queue, new ScrappedPage(List.of(), hrefs, null));
+              }
+            }
+          });
+    } finally {
+      if (!put(queue, END_OF_BOOKS)) {
+        writer.interrupt();
+      }
+      awaitWriter(writer);
+      logger.info(unchangedPages.get() + " unchanged pages skipped");
+    }
+  }
+
+  private void writeBooks(BlockingQueue<ScrappedPage> queue) {
+    int savedBooks = 0;
+    try {
+      ScrappedPage page;
+      while ((page = queue.take()) != END_OF_BOOKS) {
+        savedBooks += savePage(page);
+      }
+    } catch (InterruptedException e) {
+      logger.error("Writing books interrupted. " + e.getMessage());
+      Thread.currentThread().interrupt();
+    }
+    logger.info("Pipeline finished, passed " + savedBooks + " books to database");
+  }
+
+  /**
+   * Saves books of the page and runs its callback, when all of them are saved. Offers of books
+   * found on unchanged page are only marked as seen.
+   */
+  private int savePage(ScrappedPage page) {
+    if (!page.unchangedHrefs.isEmpty()) {
+      markOffersAsSeen(page.unchangedHrefs);
+      return 0;
+    }
+    List<BookDto> books = page.books;
+    if (books.isEmpty()) {
+      confirmSaved(page);
+      return 0;
+    }
+    int savedBooks;
+    try {
+      savedBooks = bookService.addBooksToDatabase(books);
+    } catch (RuntimeException e) {
+      logger.error("Saving " + books.size() + " books failed. " + e.getMessage());
+      return 0;
+    }
+    if (savedBooks == books.size()) {
+      confirmSaved(page);
+    }
+    return savedBooks;
+  }
+
+  private void confirmSaved(ScrappedPage page) {
+    try {
+      page.onSaved();
+    } catch (RuntimeException e) {
+      logger.error("Confirming saved books failed. " + e.getMessage());
+    }
+  }
+
+  private void markOffersAsSeen(List<String> hrefs) {
+    try {
+      bookService.markOffersAsSeen(hrefs);
+    } catch (RuntimeException e) {
+      logger.error("Marking " + hrefs.size() + " offers as seen failed. " + e.getMessage());
+    }
+  }
+
+  /**
+   * Passes books to the writer, waiting for space in the queue.
+   *
+   * @return false when calling thread was interrupted, so the books were not passed.
+   */
+  private boolean put(BlockingQueue<ScrappedPage> queue, ScrappedPage page) {
+    try {
+      queue.put(page);
+      return true;
+    } catch (InterruptedException e) {
+      logger.error("Passing books to writer interrupted. " + e.getMessage());
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Waits until the writer saves all books. Writer which has not got all books, because the
+   * calling thread was interrupted, is interrupted as well, so it does not outlive the run.
+   */
+  private void awaitWriter(Thread writer) {
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      logger.error("Waiting for writer interrupted. " + e.getMessage());
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Books of a single page, together with callback run once they are saved, or links to books of
+   * a page which has not changed.
+   */
+  private static class ScrappedPage {
+
+    private final List<BookDto> books;
+    private final List<String> unchangedHrefs;
+    private final Runnable onSaved;
+
+    private ScrappedPage(List<BookDto> books, List<String> unchangedHrefs, Runnable onSaved) {
+      this.books = books;
+      this.unchangedHrefs = unchangedHrefs;
+      this.onSaved = onSaved;
+    }
+
+    private void onSaved() {
+      if (onSaved != null) {
+        onSaved.run();
+      }
+    }
+  }
+}
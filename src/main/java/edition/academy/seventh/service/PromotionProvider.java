@@ -17,4 +17,24 @@ public interface PromotionProvider {
    * @return list of books ready to saveUser in DataBase
    */
   List<BookDto> getPromotions();
+
+  /**
+   * Retrieves name of the bookstore this provider gets books from.
+   *
+   * @return name of the bookstore
+   */
+  default String getBookstoreName() {
+    return getClass().getSimpleName();
+  }
+
+  /**
+   * Retrieves books on sales from bookstore website and passes them to given consumer as soon as
+   * they are available. By default all books are passed at once, after {@link #getPromotions()}
+   * returns.
+   *
+   * @param booksConsumer receives scrapped books
+   */
+  default void streamPromotions(ScrappedBooksConsumer booksConsumer) {
+    booksConsumer.accept(getPromotions());
+  }
 }
@@ -6,9 +6,6 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 
 /**
@@ -20,14 +17,20 @@
 @Service
 public class PromotionProviderManager {
 
-  private List<BookDto> scrappedBooks;
+  private AppendOnlyBuffer<BookDto> scrappedBooks;
   private List<PromotionProvider> providers;
+  private ScrappingScheduler scrappingScheduler;
   private Phaser phaser = new Phaser(1);
 
-  /** Constructs <code>PromotionProviderManager</code> with non providers registered. */
-  public PromotionProviderManager() {
-    this.scrappedBooks = new CopyOnWriteArrayList<>();
+  /**
+   * Constructs <code>PromotionProviderManager</code> with non providers registered.
+   *
+   * @param scrappingScheduler runs registered {@link PromotionProvider promotion providers}.
+   */
+  public PromotionProviderManager(ScrappingScheduler scrappingScheduler) {
+    this.scrappedBooks = new AppendOnlyBuffer<>();
     this.providers = new ArrayList<>();
+    this.scrappingScheduler = scrappingScheduler;
   }
 
   /**
@@ -35,11 +38,14 @@ public PromotionProviderManager() {
    * promotion providers}.
    *
    * @param promotionProvider {@link PromotionProvider promotion provider} to be registered.
+   * @param scrappingScheduler runs registered {@link PromotionProvider promotion providers}.
    */
   @Autowired
-  public PromotionProviderManager(List<PromotionProvider> promotionProvider) {
-    this.scrappedBooks = new CopyOnWriteArrayList<>();
+  public PromotionProviderManager(
+      List<PromotionProvider> promotionProvider, ScrappingScheduler scrappingScheduler) {
+    this.scrappedBooks = new AppendOnlyBuffer<>();
     this.providers = promotionProvider;
+    this.scrappingScheduler = scrappingScheduler;
   }
 
   /**
@@ -70,33 +76,42 @@ private void registerPromotionProvider(PromotionProvider promotionProvider) {
    *     promotion providers}.
    */
   public List<BookDto> getScrappedBooks() throws ProvidersNotFoundException {
+    streamScrappedBooks(scrappedBooks::addAll);
+    return scrappedBooks.drain();
+  }
+
+  /**
+   * Runs all registered providers and passes their results to given consumer as soon as they are
+   * available, without storing them. Returns when every provider has finished its work.
+   *
+   * @param booksConsumer receives scrapped {@link BookDto books}, called concurrently by providers.
+   * @throws ProvidersNotFoundException when there are no registered {@link PromotionProvider
+   *     promotion providers}.
+   */
+  public void streamScrappedBooks(ScrappedBooksConsumer booksConsumer)
+      throws ProvidersNotFoundException {
     if (providers.isEmpty()) throw new ProvidersNotFoundException("No providers detected");
 
-    scrappedBooks.clear();
-    runProviders();
-    return scrappedBooks;
+    runProviders(booksConsumer);
   }
 
-  private void runProviders() {
-    ExecutorService executorService = Executors.newFixedThreadPool(providers.size());
+  private void runProviders(ScrappedBooksConsumer booksConsumer) {
     providers.forEach(
         provider -> {
           phaser.register();
-          executorService.submit(runProvider(provider));
+          scrappingScheduler.submitProvider(
+              provider.getBookstoreName(), runProvider(provider, booksConsumer));
         });
     phaser.arriveAndAwaitAdvance();
   }
 
-  private Runnable runProvider(PromotionProvider provider) {
+  private Runnable runProvider(PromotionProvider provider, ScrappedBooksConsumer booksConsumer) {
     return () -> {
-      List<BookDto> promotions = provider.getPromotions();
-      storeBooks(promotions);
-      promotions.clear();
+      try {
+        provider.streamPromotions(booksConsumer);
+      } finally {
+        phaser.arriveAndDeregister();
+      }
     };
   }
-
-  private void storeBooks(List<BookDto> booksOnPromotion) {
-    scrappedBooks.addAll(booksOnPromotion);
-    phaser.arriveAndDeregister();
-  }
 }
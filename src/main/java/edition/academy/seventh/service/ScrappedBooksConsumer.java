@@ -0,0 +1,40 @@
+package edition.academy.seventh.service;
+
+import edition.academy.seventh.database.model.BookDto;
+import java.util.List;
+
+/**
+ * Receives books produced by {@link PromotionProvider promotion providers} as soon as they are
+ * available, e.g. after every single scrapped page.
+ */
+@FunctionalInterface
+public interface ScrappedBooksConsumer {
+
+  /**
+   * Accepts part of books scrapped by a provider. Can be called concurrently by many threads.
+   *
+   * @param books {@code List<BookDto>} scrapped since last call
+   */
+  void accept(List<BookDto> books);
+
+  /**
+   * Accepts part of books scrapped by a provider and runs given callback once all of them are
+   * saved. Callback is never run when saving fails, nor by consumers which do not save books, so
+   * the provider does not treat such books as stored. Can be called concurrently by many threads.
+   *
+   * @param books {@code List<BookDto>} scrapped since last call
+   * @param onSaved run after the books are saved, possibly by another thread
+   */
+  default void accept(List<BookDto> books, Runnable onSaved) {
+    accept(books);
+  }
+
+  /**
+   * Informs that scrapped page has not changed since previous run, so its books were neither
+   * mapped nor passed to {@link #accept(List)}. Can be called concurrently by many threads.
+   *
+   * @param url of unchanged page
+   * @param hrefs links to books found on the page in previous run, empty when they are not known
+   */
+  default void pageUnchanged(String url, List<String> hrefs) {}
+}
@@ -0,0 +1,222 @@
+package edition.academy.seventh.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single place where all scrapping work is executed. Shared by {@link PromotionProviderManager}
+ * and every scrapper, so the number of threads does not grow with the number of bookstores.
+ *
+ * <p>Providers are run by {@link #submitProvider(String, Runnable)} on separate threads, since they
+ * only wait for their pages. Pages are run by {@link #submitPage(String, Runnable)} and at most
+ * {@code parallelism} of them are processed at the same time. Threads are named after the bookstore
+ * they currently work for.
+ *
+ * <p>A single bookstore runs at most {@code pagesPerBookstore} pages at once, its remaining pages
+ * wait in the bookstore's own queue. So a bookstore whose requests are throttled, and whose pages
+ * wait for its rate limiter, can not occupy all threads needed by the other bookstores.
+ *
+ * <p>When virtual threads are enabled and supported by the JDK, every page gets its own virtual
+ * thread, still limited to {@code parallelism} pages at once.
+ */
+@Component
+public class ScrappingScheduler implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(ScrappingScheduler.class);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  private final ExecutorService providerExecutor;
+  private final ExecutorService pageExecutor;
+  private final Semaphore pagePermits;
+  private final int pagesPerBookstore;
+  private final Map<String, BookstorePages> bookstorePages = new ConcurrentHashMap<>();
+
+  /**
+   * Creates scheduler with given limits of concurrently scrapped pages.
+   *
+   * @param parallelism maximal number of pages processed at the same time.
+   * @param pagesPerBookstore maximal number of pages of a single bookstore processed at the same
+   *     time.
+   * @param virtualThreads whether pages should run on virtual threads, if JDK supports them.
+   */
+  @Autowired
+  public ScrappingScheduler(
+      @Value("${robot.scrappingParallelism:10}") int parallelism,
+      @Value("${robot.scrappingPagesPerBookstore:3}") int pagesPerBookstore,
+      @Value("${robot.scrappingVirtualThreads:false}") boolean virtualThreads) {
+    if (parallelism <= 0 || pagesPerBookstore <= 0) {
+      throw new IllegalArgumentException(
+          "Parallelism has to be positive, was: " + parallelism + ", " + pagesPerBookstore);
+    }
+    this.pagesPerBookstore = pagesPerBookstore;
+    this.providerExecutor = Executors.newCachedThreadPool(namedThreadFactory("provider"));
+    this.pagePermits = new Semaphore(parallelism);
+    ExecutorService virtualThreadExecutor = virtualThreads ? createVirtualThreadExecutor() : null;
+    this.pageExecutor =
+        virtualThreadExecutor != null
+            ? virtualThreadExecutor
+            : Executors.newFixedThreadPool(parallelism, namedThreadFactory("scrapper"));
+  }
+
+  /**
+   * Runs provider's work, which mostly consists of waiting for its pages.
+   *
+   * @param bookstoreName name of the bookstore, used to name the thread.
+   * @param task provider's work.
+   * @return {@link Future} of the task.
+   */
+  public Future<?> submitProvider(String bookstoreName, Runnable task) {
+    return providerExecutor.submit(named("provider-" + bookstoreName, task));
+  }
+
+  /**
+   * Runs scrapping of a single page. Waits in queue when {@code parallelism} pages, or {@code
+   * pagesPerBookstore} pages of the same bookstore, are already being processed.
+   *
+   * @param bookstoreName name of the bookstore, used to name the thread.
+   * @param task scrapping of a single page.
+   * @return {@link Future} of the task.
+   */
+  public Future<?> submitPage(String bookstoreName, Runnable task) {
+    FutureTask<?> page = new FutureTask<>(named("scrapper-" + bookstoreName, limited(task)), null);
+    bookstorePages.computeIfAbsent(bookstoreName, name -> new BookstorePages()).submit(page);
+    return page;
+  }
+
+  /** Stops accepting new tasks and waits for submitted ones when application context closes. */
+  @Override
+  public void destroy() {
+    shutdown(providerExecutor);
+    shutdown(pageExecutor);
+    logger.info("Scrapping scheduler has been shut down");
+  }
+
+  private Runnable limited(Runnable task) {
+    return () -> {
+      try {
+        pagePermits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      try {
+        task.run();
+      } finally {
+        pagePermits.release();
+      }
+    };
+  }
+
+  private Runnable named(String name, Runnable task) {
+    return () -> {
+      Thread thread = Thread.currentThread();
+      String previousName = thread.getName();
+      thread.setName(name + "-" + thread.getId());
+      try {
+        task.run();
+      } finally {
+        thread.setName(previousName);
+      }
+    };
+  }
+
+  private ThreadFactory namedThreadFactory(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Pages of a single bookstore, passed to the page executor a few at a time. */
+  private class BookstorePages {
+
+    private final Queue<FutureTask<?>> waitingPages = new ArrayDeque<>();
+    private int runningPages;
+
+    private synchronized void submit(FutureTask<?> page) {
+      if (runningPages < pagesPerBookstore) {
+        runningPages++;
+        executeOrCancel(page);
+      } else {
+        waitingPages.add(page);
+      }
+    }
+
+    private void execute(FutureTask<?> page) {
+      pageExecutor.execute(
+          () -> {
+            try {
+              page.run();
+            } finally {
+              runNext();
+            }
+          });
+    }
+
+    private synchronized void runNext() {
+      FutureTask<?> page = waitingPages.poll();
+      if (page == null) {
+        runningPages--;
+        return;
+      }
+      executeOrCancel(page);
+    }
+
+    /**
+     * Executes page taking already counted place of a running page. When executor has been shut
+     * down, the page and all waiting ones are cancelled and the place is freed.
+     */
+    private void executeOrCancel(FutureTask<?> page) {
+      try {
+        execute(page);
+      } catch (RejectedExecutionException e) {
+        page.cancel(false);
+        waitingPages.forEach(waitingPage -> waitingPage.cancel(false));
+        waitingPages.clear();
+        runningPages--;
+      }
+    }
+  }
+
+  private ExecutorService createVirtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      logger.warn("Virtual threads are not supported by this JDK, using platform threads");
+      return null;
+    }
+  }
+
+  private void shutdown(ExecutorService executorService) {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        executorService.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executorService.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
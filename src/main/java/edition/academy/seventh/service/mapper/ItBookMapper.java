@@ -1,6 +1,5 @@
 package edition.academy.seventh.service.mapper;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import edition.academy.seventh.database.model.BookDto;
 import edition.academy.seventh.service.BookstoreConnectionService;
 import edition.academy.seventh.service.PromotionProvider;
@@ -10,12 +9,11 @@
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Responsible for mapping JSON objects from ITBook library to {@link BookDto}.
+ * Responsible for completing {@link BookDto}s downloaded from ITBook library with bookstore data.
  *
  * @author Bartosz Kupajski
  */
@@ -23,39 +21,50 @@
 public class ItBookMapper implements PromotionProvider {
 
   private static final Logger logger = LoggerFactory.getLogger(ItBookMapper.class);
-  private ObjectMapper objectMapper;
+  private static final String BOOKSTORE_NAME = "ITBookstore";
+  private static final String CURRENCY = "$";
   private BookstoreConnectionService bookstoreConnectionService;
 
   @Autowired
   public ItBookMapper(BookstoreConnectionService bookstoreConnectionService) {
-    this.objectMapper = new ObjectMapper();
     this.bookstoreConnectionService = bookstoreConnectionService;
   }
 
   /**
-   * Maps JSON books file into {@code List<BookDto>}. Name of method is the {@code getPromotions()},
-   * because of implementing PromotionProvider interface. The reason why we retrieves books without
-   * promotions is that the REST API we connect to doesn't provide this data.
+   * Completes books deserialized from ITBook's responses into {@code List<BookDto>}. Name of method
+   * is the {@code getPromotions()}, because of implementing PromotionProvider interface. The reason
+   * why we retrieves books without promotions is that the REST API we connect to doesn't provide
+   * this data.
+   *
+   * <p>Every book is mapped as soon as it is downloaded, while remaining ones are still being
+   * downloaded.
    *
    * @return {@code List<BookDto>}
    */
   @Override
   public List<BookDto> getPromotions() {
     List<BookDto> listOfBooks = new LinkedList<>();
-    List<String> booksAsJson = bookstoreConnectionService.getListOfBooksAsString();
-    String nameOfTheBookstore = "ITBookstore";
-    for (String bookJSON : booksAsJson) {
-      BookDto book;
-      try {
-        book = objectMapper.readValue(bookJSON, BookDto.class);
-      } catch (IOException e) {
-        logger.info("Error occurred during mapping JSON to BookDto" + e.getMessage());
-        continue;
-      }
-      book.setBookstore(nameOfTheBookstore);
-      book.setPromotionalPrice(new BigDecimal(book.getRetailPrice().longValue()));
-      listOfBooks.add(book);
-    }
+    bookstoreConnectionService.streamBooks(
+        book -> {
+          if (book.getRetailPrice() == null) {
+            logger.info("Skipping book without price " + book.getHref());
+            return;
+          }
+          book.setBookstore(BOOKSTORE_NAME);
+          book.setCurrency(CURRENCY);
+          book.setPromotionalPrice(new BigDecimal(book.getRetailPrice().longValue()));
+          listOfBooks.add(book);
+        });
     return listOfBooks;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return {@inheritDoc}
+   */
+  @Override
+  public String getBookstoreName() {
+    return BOOKSTORE_NAME;
+  }
 }
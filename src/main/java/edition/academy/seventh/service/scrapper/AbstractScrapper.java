@@ -1,16 +1,23 @@
 package edition.academy.seventh.service.scrapper;
 
 import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.AppendOnlyBuffer;
 import edition.academy.seventh.service.PromotionProvider;
+import edition.academy.seventh.service.ScrappedBooksConsumer;
+import edition.academy.seventh.service.ScrappingScheduler;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Phaser;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,39 +31,249 @@ abstract class AbstractScrapper implements PromotionProvider {
 
   final String startOfUrl;
   final String endOfUrl;
+  final String bookstoreName;
   static final Logger logger = LoggerFactory.getLogger(AbstractScrapper.class);
   private final String documentClassName;
 
-  List<BookDto> listOfBooks = new CopyOnWriteArrayList<>();
-  protected ExecutorService service = Executors.newFixedThreadPool(10);
+  AppendOnlyBuffer<BookDto> listOfBooks = new AppendOnlyBuffer<>();
+  final ScrappingScheduler scrappingScheduler;
+  private final PageFetcher pageFetcher;
   Phaser phaser = new Phaser(1);
+  private final Set<ScrappingTask> scrappingTasks = ConcurrentHashMap.newKeySet();
+  private volatile ScrappedBooksConsumer booksConsumer;
 
-  AbstractScrapper(String startOfUrl, String endOfUrl, String documentClassName) {
+  AbstractScrapper(
+      String startOfUrl,
+      String endOfUrl,
+      String documentClassName,
+      String bookstoreName,
+      ScrappingScheduler scrappingScheduler,
+      PageFetcher pageFetcher) {
     this.startOfUrl = startOfUrl;
     this.endOfUrl = endOfUrl;
     this.documentClassName = documentClassName;
+    this.bookstoreName = bookstoreName;
+    this.scrappingScheduler = scrappingScheduler;
+    this.pageFetcher = pageFetcher;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return {@inheritDoc}
+   */
+  @Override
+  public String getBookstoreName() {
+    return bookstoreName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Books are passed to the consumer right after each page is mapped, instead of being collected
+   * in {@link AbstractScrapper#listOfBooks}. Every page is finished or cancelled before {@link
+   * #getPromotions()} returns, so no page publishes books after the consumer is cleared.
+   *
+   * @param booksConsumer {@inheritDoc}
+   */
+  @Override
+  public void streamPromotions(ScrappedBooksConsumer booksConsumer) {
+    this.booksConsumer = booksConsumer;
+    try {
+      getPromotions();
+    } finally {
+      this.booksConsumer = null;
+    }
+  }
+
+  /**
+   * Submits scrapping task of given page to the shared {@link ScrappingScheduler}.
+   *
+   * @param numberOfSearchedSite number of site which is concatenated to the URL.
+   */
+  void submitScrappingTask(int numberOfSearchedSite) {
+    ScrappingTask task = createScrappingTask(numberOfSearchedSite);
+    task.future = scrappingScheduler.submitPage(bookstoreName, task);
+    if (task.future.isCancelled()) {
+      task.cancel();
+    }
+    logger.info(
+        "Submitting scrapping task for page: " + getUrlWithPageNumber(numberOfSearchedSite));
   }
 
   /**
    * Create {@link Runnable} task which is responsible for creating GET request to given page based
    * on {@link AbstractScrapper#startOfUrl} and {@link AbstractScrapper#endOfUrl}, then extracting
    * all {@link org.jsoup.nodes.Element} of the given name {@link
-   * AbstractScrapper#documentClassName}.
+   * AbstractScrapper#documentClassName}. Task is registered in {@link AbstractScrapper#phaser}
+   * before it is returned, so waiting for the phaser includes tasks which have not started yet.
    *
    * @param numberOfSearchedSite number of site which is concatenated to the URL.
-   * @return task which is later used in {@link ExecutorService}.
+   * @return task which is later used in {@link ScrappingScheduler}.
    */
-  Runnable createScrappingTask(int numberOfSearchedSite) {
+  private ScrappingTask createScrappingTask(int numberOfSearchedSite) {
+    phaser.register();
+    ScrappingTask task = new ScrappingTask(numberOfSearchedSite);
+    scrappingTasks.add(task);
+    return task;
+  }
 
-    return () -> {
-      phaser.register();
-      String url = getUrlWithPageNumber(numberOfSearchedSite);
-      Document document = getDocument(url);
-      Elements elementsByClass =
-          Objects.requireNonNull(document).getElementsByClass(documentClassName);
+  /**
+   * Cancels submitted scrapping tasks which have not finished yet. Tasks which have not started
+   * will never run, running ones are interrupted. Every task arrives at {@link
+   * AbstractScrapper#phaser} once it is cancelled or finished, so waiting for the phaser afterwards
+   * ends only when no task can publish books anymore.
+   */
+  void cancelScrappingTasks() {
+    scrappingTasks.forEach(ScrappingTask::cancel);
+  }
+
+  /**
+   * Scraps consecutive pages until bookstore's listing is exhausted, i.e. a page contains no
+   * products, only products of previous pages, or can not be downloaded. Up to {@code lookAhead}
+   * pages are scrapped concurrently; pages which were already in flight when the end was found are
+   * still published, but every book is published once.
+   *
+   * @param firstPage number of the first scrapped page.
+   * @param step difference between numbers of consecutive pages.
+   * @param lookAhead maximal number of pages scrapped at the same time.
+   * @param maxPages maximal number of scrapped pages, protects against endless listings.
+   * @return number of pages with products found before the end of listing.
+   */
+  int crawl(int firstPage, int step, int lookAhead, int maxPages) {
+    BlockingQueue<CrawledPage> crawledPages = new LinkedBlockingQueue<>();
+    CrawlState crawlState = new CrawlState();
+    List<CrawledPage> results = new ArrayList<>();
+    int nextPage = firstPage;
+    int endOfListing = Integer.MAX_VALUE;
+    int submittedPages = 0;
+    int pagesInFlight = 0;
+
+    while (true) {
+      while (pagesInFlight < lookAhead && submittedPages < maxPages && nextPage < endOfListing) {
+        int numberOfSearchedSite = nextPage;
+        scrappingScheduler.submitPage(
+            bookstoreName, () -> crawledPages.add(crawlPage(numberOfSearchedSite, crawlState)));
+        nextPage += step;
+        submittedPages++;
+        pagesInFlight++;
+      }
+      if (pagesInFlight == 0) {
+        break;
+      }
+      CrawledPage crawledPage;
+      try {
+        crawledPage = crawledPages.take();
+      } catch (InterruptedException e) {
+        logger.error("Crawling " + bookstoreName + " interrupted");
+        Thread.currentThread().interrupt();
+        break;
+      }
+      pagesInFlight--;
+      results.add(crawledPage);
+      if (crawledPage.result.isExhausted()) {
+        endOfListing = Math.min(endOfListing, crawledPage.numberOfSearchedSite);
+      }
+    }
+
+    int pages = countPagesWithProducts(results, crawlState);
+    logger.info(bookstoreName + " has " + pages + " pages of promotions");
+    return pages;
+  }
+
+  /**
+   * Pages are scrapped concurrently, so a page repeating previous one could be processed first.
+   * Duplicates are therefore checked again once all pages are known.
+   */
+  private int countPagesWithProducts(List<CrawledPage> results, CrawlState crawlState) {
+    int endOfListing = Integer.MAX_VALUE;
+    for (CrawledPage crawledPage : results) {
+      int numberOfSearchedSite = crawledPage.numberOfSearchedSite;
+      if (crawledPage.result.isExhausted() || crawlState.isDuplicated(numberOfSearchedSite)) {
+        endOfListing = Math.min(endOfListing, numberOfSearchedSite);
+      }
+    }
+    int lastPage = endOfListing;
+    return (int)
+        results.stream()
+            .filter(crawledPage -> crawledPage.numberOfSearchedSite < lastPage)
+            .count();
+  }
 
-      mappingToBookList(elementsByClass);
-    };
+  private CrawledPage crawlPage(int numberOfSearchedSite, CrawlState crawlState) {
+    PageResult result = PageResult.FAILED;
+    try {
+      result = scrapPage(numberOfSearchedSite, crawlState);
+    } catch (RuntimeException e) {
+      logger.error("Scrapping page " + numberOfSearchedSite + " failed. " + e);
+    }
+    return new CrawledPage(numberOfSearchedSite, result);
+  }
+
+  /**
+   * Downloads given page and publishes its books in the calling thread.
+   *
+   * @param numberOfSearchedSite number of site which is concatenated to the URL.
+   * @return {@link PageResult} of the page.
+   */
+  PageResult scrapPage(int numberOfSearchedSite) {
+    return scrapPage(numberOfSearchedSite, null);
+  }
+
+  private PageResult scrapPage(int numberOfSearchedSite, CrawlState crawlState) {
+    FetchedPage page = getPage(getUrlWithPageNumber(numberOfSearchedSite));
+    return page == null
+        ? PageResult.FAILED
+        : processPage(page, numberOfSearchedSite, crawlState);
+  }
+
+  /**
+   * Maps and publishes books from downloaded page. When page has not been modified since previous
+   * run, or its scrapped content is the same, mapping is skipped and only {@link
+   * ScrappedBooksConsumer#pageUnchanged(String, List)} signal is emitted, with links to books
+   * cached together with the page. Empty pages and pages with
+   * only duplicated books are not cached, so they are checked again in the next run. Other pages
+   * are cached only once the consumer saves their books, so books which failed to be saved are
+   * scrapped again in the next run.
+   *
+   * @param page downloaded page.
+   * @param numberOfSearchedSite number of the page.
+   * @param crawlState books of current crawl, null when books are not deduplicated.
+   * @return {@link PageResult} of the page.
+   */
+  private PageResult processPage(
+      FetchedPage page, int numberOfSearchedSite, CrawlState crawlState) {
+    if (page.isNotModified()) {
+      publishUnchanged(page.getUrl(), pageFetcher.getCachedHrefs(page.getUrl()));
+      return PageResult.UNCHANGED;
+    }
+    Elements elementsByClass = page.getDocument().getElementsByClass(documentClassName);
+    if (elementsByClass.isEmpty()) {
+      return PageResult.EMPTY;
+    }
+    String contentHash = PageCache.hash(elementsByClass.outerHtml());
+    if (pageFetcher.isUnchanged(page, contentHash)) {
+      List<String> cachedHrefs = pageFetcher.getCachedHrefs(page.getUrl());
+      pageFetcher.remember(page, contentHash, cachedHrefs);
+      publishUnchanged(page.getUrl(), cachedHrefs);
+      return PageResult.UNCHANGED;
+    }
+    List<BookDto> books = mappingToBookList(elementsByClass);
+    List<String> hrefs = books.stream().map(BookDto::getHref).collect(Collectors.toList());
+    if (crawlState != null) {
+      Optional<List<BookDto>> unpublishedBooks = crawlState.register(numberOfSearchedSite, books);
+      if (unpublishedBooks.isEmpty()) {
+        return PageResult.DUPLICATES;
+      }
+      books = unpublishedBooks.get();
+    }
+    Runnable rememberPage = () -> pageFetcher.remember(page, contentHash, hrefs);
+    if (books.isEmpty()) {
+      rememberPage.run();
+    } else {
+      publish(books, rememberPage);
+    }
+    return PageResult.PRODUCTS;
   }
 
   /**
@@ -76,26 +293,145 @@ String prepareValidPrice(String input) {
 
   /**
    * @param url of website to scrap.
-   * @return {@link Document} mapped to {@link BookDto}.
+   * @return {@link FetchedPage} with document mapped to {@link BookDto}, or null when page could
+   *     not be downloaded.
    */
-  private Document getDocument(String url) {
-    Document document = null;
+  private FetchedPage getPage(String url) {
+    FetchedPage page = null;
     try {
-      document = Objects.requireNonNull(Jsoup.connect(url).timeout(0).get());
+      page = pageFetcher.fetch(url);
     } catch (IOException e) {
-      logger.error(e.getMessage());
+      logger.error("Could not download " + url + ". " + e.getMessage());
+    } catch (InterruptedException e) {
+      logger.error("Downloading " + url + " interrupted");
+      Thread.currentThread().interrupt();
+    }
+    return page;
+  }
+
+  /**
+   * Passes books from single page to {@link AbstractScrapper#booksConsumer} when promotions are
+   * streamed, otherwise stores them in {@link AbstractScrapper#listOfBooks}. Books stored in the
+   * list are not known to be saved, so their page is not cached.
+   *
+   * @param books mapped from single page.
+   * @param onSaved run once the books are saved.
+   */
+  private void publish(List<BookDto> books, Runnable onSaved) {
+    ScrappedBooksConsumer consumer = booksConsumer;
+    if (consumer != null) {
+      consumer.accept(books, onSaved);
+    } else {
+      listOfBooks.addAll(books);
+    }
+  }
+
+  private void publishUnchanged(String url, List<String> hrefs) {
+    logger.info("Page " + url + " has not changed since previous run, skipping it");
+    ScrappedBooksConsumer consumer = booksConsumer;
+    if (consumer != null) {
+      consumer.pageUnchanged(url, hrefs);
     }
-    return document;
   }
 
   private String getUrlWithPageNumber(int numberOfSearchedSite) {
     return startOfUrl + numberOfSearchedSite + endOfUrl;
   }
 
+  /** Remembers on which pages of current crawl books were found and which were published. */
+  private static class CrawlState {
+
+    private final Map<String, Integer> firstPageOfHref = new ConcurrentHashMap<>();
+    private final Map<Integer, List<String>> hrefsOfPage = new ConcurrentHashMap<>();
+    private final Set<String> publishedHrefs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registers books of the page and claims those which have not been published yet. Both are
+     * done at once, so books claimed by a page are never lost when the page turns out to be
+     * duplicated.
+     *
+     * @param numberOfSearchedSite number of the page.
+     * @param books mapped from the page.
+     * @return books which have not been published yet, empty when page is duplicated.
+     */
+    private synchronized Optional<List<BookDto>> register(
+        int numberOfSearchedSite, List<BookDto> books) {
+      List<String> hrefs = books.stream().map(BookDto::getHref).collect(Collectors.toList());
+      hrefs.forEach(href -> firstPageOfHref.merge(href, numberOfSearchedSite, Math::min));
+      hrefsOfPage.put(numberOfSearchedSite, hrefs);
+      if (isDuplicated(numberOfSearchedSite)) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          books.stream()
+              .filter(book -> publishedHrefs.add(book.getHref()))
+              .collect(Collectors.toList()));
+    }
+
+    /**
+     * @param numberOfSearchedSite number of the page.
+     * @return true if every book of the page was found on a previous page.
+     */
+    private boolean isDuplicated(int numberOfSearchedSite) {
+      List<String> hrefs = hrefsOfPage.get(numberOfSearchedSite);
+      return hrefs != null
+          && hrefs.stream().allMatch(href -> firstPageOfHref.get(href) < numberOfSearchedSite);
+    }
+  }
+
+  /** Scrapping of a single page, which runs at most once and can be cancelled before it starts. */
+  private class ScrappingTask implements Runnable {
+
+    private final int numberOfSearchedSite;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile Future<?> future;
+
+    private ScrappingTask(int numberOfSearchedSite) {
+      this.numberOfSearchedSite = numberOfSearchedSite;
+    }
+
+    @Override
+    public void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        scrapPage(numberOfSearchedSite);
+      } finally {
+        finish();
+      }
+    }
+
+    private void cancel() {
+      if (claimed.compareAndSet(false, true)) {
+        finish();
+      } else if (future != null) {
+        future.cancel(true);
+      }
+    }
+
+    private void finish() {
+      scrappingTasks.remove(this);
+      phaser.arriveAndDeregister();
+    }
+  }
+
+  private static class CrawledPage {
+
+    private final int numberOfSearchedSite;
+    private final PageResult result;
+
+    private CrawledPage(int numberOfSearchedSite, PageResult result) {
+      this.numberOfSearchedSite = numberOfSearchedSite;
+      this.result = result;
+    }
+  }
+
   /**
    * Responsible for mapping HTML content to {@link List< BookDto >}.
    *
    * @param elementsByClass main HTML element that contains all required data.
+   * @return books found on a single page.
    */
-  abstract void mappingToBookList(Elements elementsByClass);
+  abstract List<BookDto> mappingToBookList(Elements elementsByClass);
 }
@@ -0,0 +1,153 @@
+package edition.academy.seventh.service.scrapper;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.ScrappingScheduler;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.jsoup.select.Elements;
+
+/**
+ * Scraps sales section of a bookstore described by {@link ScrapperDefinition}. Selectors of the
+ * definition are compiled once, when scrapper is created.
+ */
+class DefinedScrapper extends AbstractScrapper {
+
+  private final ScrapperDefinition definition;
+  private final ProductSelectors productSelectors;
+
+  DefinedScrapper(
+      ScrapperDefinition definition,
+      ScrappingScheduler scrappingScheduler,
+      PageFetcher pageFetcher) {
+    super(
+        startOfUrl(definition),
+        endOfUrl(definition),
+        definition.getProductClass(),
+        definition.getBookstoreName(),
+        scrappingScheduler,
+        pageFetcher);
+    this.definition = definition;
+    this.productSelectors = compileSelectors(definition.getFields());
+    ScrapperDefinition.RateLimit rateLimit = definition.getRateLimit();
+    if (rateLimit != null) {
+      pageFetcher.limitRequests(
+          startOfUrl, rateLimit.getRequestsPerSecond(), rateLimit.getBurst());
+    }
+  }
+
+  /**
+   * Scraps pages given in {@link ScrapperDefinition#getPages()} concurrently. When there is no
+   * last page, listing is crawled with {@link ScrapperDefinition.Pages#getLookAhead()} pages in
+   * flight until it is exhausted.
+   *
+   * @return list of books after all scrapping tasks finish their jobs.
+   */
+  @Override
+  public List<BookDto> getPromotions() {
+    ScrapperDefinition.Pages pages = definition.getPages();
+    if (pages.getLast() == null) {
+      crawl(pages.getFirst(), pages.getStep(), pages.getLookAhead(), pages.getMaxPages());
+    } else {
+      for (int i = pages.getFirst(); i <= pages.getLast(); i += pages.getStep()) {
+        submitScrappingTask(i);
+      }
+      awaitScrappingTasks();
+    }
+    return listOfBooks.drain();
+  }
+
+  @Override
+  List<BookDto> mappingToBookList(Elements elementsByClass) {
+    return elementsByClass.stream()
+        .map(productSelectors::extract)
+        .map(this::toBookDto)
+        .collect(Collectors.toList());
+  }
+
+  private BookDto toBookDto(ProductSelectors.Product product) {
+    BigDecimal retailPrice =
+        new BigDecimal(prepareValidPrice(valueOf(product, "retailPrice")));
+    BigDecimal promotionalPrice =
+        new BigDecimal(prepareValidPrice(valueOf(product, "promotionalPrice")));
+    return new BookDto(
+        valueOf(product, "title"),
+        "",
+        valueOf(product, "author"),
+        definition.getCurrency(),
+        retailPrice,
+        promotionalPrice,
+        valueOf(product, "imageLink"),
+        valueOf(product, "href"),
+        bookstoreName);
+  }
+
+  private String valueOf(ProductSelectors.Product product, String name) {
+    ScrapperDefinition.Field field = definition.getFields().get(name);
+    String value = product.get(name);
+    if (field.getToken() != null) {
+      String[] tokens = value.split(" ");
+      value = field.getToken() < tokens.length ? tokens[field.getToken()] : "";
+    }
+    for (String removed : field.getRemove()) {
+      value = value.replace(removed, "");
+    }
+    return field.getPrefix() + value;
+  }
+
+  /**
+   * Waits for submitted pages, at most {@link ScrapperDefinition#getTimeoutMillis()} when it is
+   * given. Pages which are not scrapped in time are cancelled, and waiting continues until the
+   * running ones are interrupted, so none of them publishes books later.
+   */
+  private void awaitScrappingTasks() {
+    int phase = phaser.arrive();
+    if (definition.getTimeoutMillis() <= 0) {
+      phaser.awaitAdvance(phase);
+      return;
+    }
+    try {
+      phaser.awaitAdvanceInterruptibly(phase, definition.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | InterruptedException e) {
+      logger.error(
+          "Could not scrap every page from "
+              + bookstoreName
+              + ". Anyway - returned what was already scrapped successfully");
+      cancelScrappingTasks();
+      phaser.awaitAdvance(phase);
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  static ProductSelectors compileSelectors(Map<String, ScrapperDefinition.Field> fields) {
+    ProductSelectors.Builder builder = ProductSelectors.builder();
+    fields.forEach(
+        (name, field) -> {
+          if (field.getAttribute() != null) {
+            builder.attribute(name, field.getSelector(), field.getAttribute());
+          } else if (field.isFirst()) {
+            builder.firstText(name, field.getSelector());
+          } else {
+            builder.text(name, field.getSelector());
+          }
+        });
+    return builder.build();
+  }
+
+  private static String startOfUrl(ScrapperDefinition definition) {
+    String template = definition.getUrlTemplate();
+    return template.substring(0, template.indexOf(ScrapperDefinition.PAGE_PLACEHOLDER));
+  }
+
+  private static String endOfUrl(ScrapperDefinition definition) {
+    String template = definition.getUrlTemplate();
+    return template.substring(
+        template.indexOf(ScrapperDefinition.PAGE_PLACEHOLDER)
+            + ScrapperDefinition.PAGE_PLACEHOLDER.length());
+  }
+}
@@ -0,0 +1,56 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.util.Optional;
+import org.jsoup.nodes.Document;
+
+/**
+ * Result of downloading single page by {@link PageFetcher}. Either contains parsed {@link Document}
+ * or informs that page has not been modified since it was cached.
+ */
+class FetchedPage {
+
+  private final String url;
+  private final Document document;
+  private final String etag;
+  private final String lastModified;
+
+  private FetchedPage(String url, Document document, String etag, String lastModified) {
+    this.url = url;
+    this.document = document;
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  static FetchedPage modified(String url, Document document, String etag, String lastModified) {
+    return new FetchedPage(url, document, etag, lastModified);
+  }
+
+  static FetchedPage notModified(String url) {
+    return new FetchedPage(url, null, null, null);
+  }
+
+  String getUrl() {
+    return url;
+  }
+
+  boolean isNotModified() {
+    return document == null;
+  }
+
+  /**
+   * Retrieves downloaded document.
+   *
+   * @return parsed {@link Document}, null when page has not been modified.
+   */
+  Document getDocument() {
+    return document;
+  }
+
+  Optional<String> getEtag() {
+    return Optional.ofNullable(etag);
+  }
+
+  Optional<String> getLastModified() {
+    return Optional.ofNullable(lastModified);
+  }
+}
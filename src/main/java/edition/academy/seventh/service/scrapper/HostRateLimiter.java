@@ -0,0 +1,107 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting requests sent to a single bookstore's host. Up to {@code burst} requests
+ * can be sent at once, afterwards they are spread evenly with {@code requestsPerSecond} rate.
+ *
+ * <p>Limiter adapts to the host: when it responds with 429 or 503 status, no requests are sent
+ * until Retry-After time passes, or exponentially growing backoff when the header is missing, and
+ * the rate is halved. Both pauses are limited by {@code maxPause}. Every successful response
+ * increases the rate back towards configured one.
+ */
+class HostRateLimiter {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+  private static final double MIN_RATE_FACTOR = 0.1;
+  private static final double RECOVERY_FACTOR = 1.1;
+
+  private final double requestsPerSecond;
+  private final int burst;
+  private final Duration maxPause;
+
+  private double currentRate;
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil;
+  private int throttledResponses;
+
+  /**
+   * @param requestsPerSecond sustained rate of requests.
+   * @param burst maximal number of requests sent without waiting.
+   * @param maxPause maximal pause of requests after host throttled them.
+   * @throws IllegalArgumentException when rate or burst is not positive.
+   */
+  HostRateLimiter(double requestsPerSecond, int burst, Duration maxPause) {
+    if (requestsPerSecond <= 0 || burst <= 0) {
+      throw new IllegalArgumentException("Rate and burst of requests have to be positive");
+    }
+    this.requestsPerSecond = requestsPerSecond;
+    this.burst = burst;
+    this.maxPause = maxPause;
+    this.currentRate = requestsPerSecond;
+    this.tokens = burst;
+    this.lastRefill = System.nanoTime();
+    this.pausedUntil = lastRefill;
+  }
+
+  /**
+   * Waits until request can be sent to the host.
+   *
+   * @throws InterruptedException when thread was interrupted while waiting.
+   */
+  void acquire() throws InterruptedException {
+    long waitNanos;
+    while ((waitNanos = tryAcquire()) > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Informs that host responded with 429 or 503 status.
+   *
+   * @param retryAfter time given by host in Retry-After header, null when it was not sent.
+   */
+  synchronized void onThrottled(Duration retryAfter) {
+    throttledResponses++;
+    Duration pause = retryAfter != null ? retryAfter : backoff();
+    if (pause.compareTo(maxPause) > 0) {
+      pause = maxPause;
+    }
+    pausedUntil = Math.max(pausedUntil, System.nanoTime() + pause.toNanos());
+    currentRate = Math.max(currentRate / 2, requestsPerSecond * MIN_RATE_FACTOR);
+    tokens = 0;
+  }
+
+  /** Informs that host responded normally. */
+  synchronized void onSuccess() {
+    throttledResponses = 0;
+    currentRate = Math.min(currentRate * RECOVERY_FACTOR, requestsPerSecond);
+  }
+
+  synchronized double getCurrentRate() {
+    return currentRate;
+  }
+
+  private synchronized long tryAcquire() {
+    long now = System.nanoTime();
+    if (now < pausedUntil) {
+      return pausedUntil - now;
+    }
+    tokens = Math.min(burst, tokens + (now - lastRefill) * currentRate / NANOS_PER_SECOND);
+    lastRefill = now;
+    if (tokens >= 1) {
+      tokens--;
+      return 0;
+    }
+    return (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / currentRate);
+  }
+
+  private Duration backoff() {
+    int exponent = Math.min(throttledResponses - 1, 16);
+    return INITIAL_BACKOFF.multipliedBy(1L << exponent);
+  }
+}
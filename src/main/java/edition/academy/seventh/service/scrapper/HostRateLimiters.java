@@ -0,0 +1,66 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one {@link HostRateLimiter} per bookstore's host, shared by all scrappers of that host.
+ * Hosts without their own limits, see {@link #configure(String, double, int)}, use default ones.
+ */
+@Component
+class HostRateLimiters {
+
+  private final Map<String, HostRateLimiter> limiters = new ConcurrentHashMap<>();
+  private final double defaultRequestsPerSecond;
+  private final int defaultBurst;
+  private final int maxRetries;
+  private final Duration maxRetryAfter;
+
+  /**
+   * @param defaultRequestsPerSecond rate of requests sent to a host without its own limits.
+   * @param defaultBurst requests sent at once to a host without its own limits.
+   * @param maxRetries number of retries of request throttled by host.
+   * @param maxRetryAfterSeconds maximal pause of requests to a host which throttled them.
+   */
+  @Autowired
+  HostRateLimiters(
+      @Value("${robot.scrappingRequestsPerSecond:2}") double defaultRequestsPerSecond,
+      @Value("${robot.scrappingBurst:3}") int defaultBurst,
+      @Value("${robot.scrappingMaxRetries:3}") int maxRetries,
+      @Value("${robot.scrappingMaxRetryAfter:60}") long maxRetryAfterSeconds) {
+    this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+    this.defaultBurst = defaultBurst;
+    this.maxRetries = maxRetries;
+    this.maxRetryAfter = Duration.ofSeconds(maxRetryAfterSeconds);
+  }
+
+  /**
+   * Sets limits of given host, replacing previous ones.
+   *
+   * @param host name of bookstore's host, e.g. "www.empik.com".
+   * @param requestsPerSecond sustained rate of requests.
+   * @param burst maximal number of requests sent without waiting.
+   */
+  void configure(String host, double requestsPerSecond, int burst) {
+    limiters.put(host, new HostRateLimiter(requestsPerSecond, burst, maxRetryAfter));
+  }
+
+  /**
+   * @param url of requested page.
+   * @return limiter of page's host.
+   */
+  HostRateLimiter forUrl(String url) {
+    return limiters.computeIfAbsent(
+        URI.create(url).getHost(),
+        host -> new HostRateLimiter(defaultRequestsPerSecond, defaultBurst, maxRetryAfter));
+  }
+
+  int getMaxRetries() {
+    return maxRetries;
+  }
+}
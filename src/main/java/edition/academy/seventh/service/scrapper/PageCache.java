@@ -0,0 +1,177 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * On-disk cache of validators of already scrapped pages. For every URL it stores ETag and
+ * Last-Modified headers sent by the bookstore, hash of the scrapped content and links to books
+ * found on the page, so unchanged pages can be recognized in the next robot's run. Entries survive
+ * application restarts.
+ */
+@Component
+class PageCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(PageCache.class);
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "lastModified";
+  private static final String CONTENT_HASH = "contentHash";
+  private static final String HREFS = "hrefs";
+  private static final String HREF_SEPARATOR = "\n";
+
+  private final Path directory;
+  private final boolean enabled;
+
+  /**
+   * Creates cache storing its entries in given directory.
+   *
+   * @param directory where entries are stored, created when missing.
+   * @param enabled when false, cache neither stores nor returns any entries.
+   */
+  @Autowired
+  PageCache(
+      @Value("${robot.scrappingCacheDirectory:.robot-cache/pages}") String directory,
+      @Value("${robot.scrappingCacheEnabled:true}") boolean enabled) {
+    this.directory = Paths.get(directory);
+    this.enabled = enabled;
+  }
+
+  /**
+   * Retrieves cached validators of given page.
+   *
+   * @param url of the page.
+   * @return {@link CachedPage} or empty {@link Optional} when page was not cached yet.
+   */
+  Optional<CachedPage> get(String url) {
+    Path entry = entryOf(url);
+    if (!enabled || !Files.exists(entry)) {
+      return Optional.empty();
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(entry, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      logger.warn("Could not read cached page " + url + ". " + e.getMessage());
+      return Optional.empty();
+    }
+    return Optional.of(
+        new CachedPage(
+            properties.getProperty(ETAG),
+            properties.getProperty(LAST_MODIFIED),
+            properties.getProperty(CONTENT_HASH),
+            hrefsOf(properties.getProperty(HREFS))));
+  }
+
+  /**
+   * Stores validators of given page, replacing previous ones. Temporary file is removed when the
+   * page could not be stored.
+   *
+   * @param url of the page.
+   * @param page validators to store.
+   */
+  void put(String url, CachedPage page) {
+    if (!enabled) {
+      return;
+    }
+    Properties properties = new Properties();
+    properties.setProperty("url", url);
+    page.getEtag().ifPresent(etag -> properties.setProperty(ETAG, etag));
+    page.getLastModified().ifPresent(date -> properties.setProperty(LAST_MODIFIED, date));
+    page.getContentHash().ifPresent(hash -> properties.setProperty(CONTENT_HASH, hash));
+    if (!page.getHrefs().isEmpty()) {
+      properties.setProperty(HREFS, String.join(HREF_SEPARATOR, page.getHrefs()));
+    }
+    try {
+      Files.createDirectories(directory);
+      Path temporary = Files.createTempFile(directory, "page", ".tmp");
+      try {
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+          properties.store(writer, null);
+        }
+        Files.move(
+            temporary,
+            entryOf(url),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not cache page " + url + ". " + e.getMessage());
+    }
+  }
+
+  /**
+   * Calculates SHA-256 hash of given content.
+   *
+   * @param content to hash.
+   * @return hexadecimal representation of the hash.
+   */
+  static String hash(String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return new BigInteger(1, digest.digest(content.getBytes(StandardCharsets.UTF_8)))
+          .toString(16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static List<String> hrefsOf(String hrefs) {
+    return hrefs == null ? List.of() : List.of(hrefs.split(HREF_SEPARATOR));
+  }
+
+  private Path entryOf(String url) {
+    return directory.resolve(hash(url) + ".properties");
+  }
+
+  /** Validators of a single cached page. Every one of them may be missing. */
+  static class CachedPage {
+
+    private final String etag;
+    private final String lastModified;
+    private final String contentHash;
+    private final List<String> hrefs;
+
+    CachedPage(String etag, String lastModified, String contentHash, List<String> hrefs) {
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.contentHash = contentHash;
+      this.hrefs = hrefs;
+    }
+
+    Optional<String> getEtag() {
+      return Optional.ofNullable(etag);
+    }
+
+    Optional<String> getLastModified() {
+      return Optional.ofNullable(lastModified);
+    }
+
+    Optional<String> getContentHash() {
+      return Optional.ofNullable(contentHash);
+    }
+
+    /** @return links to books found on the page, empty when they are not known. */
+    List<String> getHrefs() {
+      return hrefs;
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Downloads bookstore pages for all scrappers with one shared {@link HttpClient}. Connections are
+ * kept alive and reused per host, HTTP/2 is used when the server supports it and compressed
+ * responses are decoded before parsing.
+ *
+ * <p>Both connecting and receiving whole response are limited by timeouts, so a bookstore which
+ * stopped responding, even in the middle of a page, can not block scrapping forever.
+ *
+ * <p>Requests are conditional: validators stored in {@link PageCache} are sent back to the
+ * bookstore, which may answer that the page has not been modified at all.
+ *
+ * <p>Every request waits for {@link HostRateLimiter} of bookstore's host. Requests throttled by the
+ * bookstore with 429 or 503 status are retried after time given in Retry-After header.
+ */
+@Component
+class PageFetcher {
+
+  private static final String USER_AGENT =
+      "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) "
+          + "Chrome/75.0.3770.100 Safari/537.36";
+
+  private static final int HTTP_NOT_MODIFIED = 304;
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+  private final HttpClient httpClient;
+  private final Duration readTimeout;
+  private final PageCache pageCache;
+  private final HostRateLimiters rateLimiters;
+
+  /**
+   * Creates fetcher with given timeouts.
+   *
+   * @param connectTimeoutMillis maximal time of establishing connection with bookstore.
+   * @param readTimeoutMillis maximal time of receiving whole bookstore's response.
+   * @param pageCache stores validators of downloaded pages.
+   * @param rateLimiters limit requests sent to every bookstore.
+   */
+  @Autowired
+  PageFetcher(
+      @Value("${robot.scrappingConnectTimeout:5000}") long connectTimeoutMillis,
+      @Value("${robot.scrappingReadTimeout:15000}") long readTimeoutMillis,
+      PageCache pageCache,
+      HostRateLimiters rateLimiters) {
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .build();
+    this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+    this.pageCache = pageCache;
+    this.rateLimiters = rateLimiters;
+  }
+
+  /**
+   * Sets limits of requests sent to host of given URL.
+   *
+   * @param url of any page of the bookstore.
+   * @param requestsPerSecond sustained rate of requests.
+   * @param burst maximal number of requests sent without waiting.
+   */
+  void limitRequests(String url, double requestsPerSecond, int burst) {
+    rateLimiters.configure(URI.create(url).getHost(), requestsPerSecond, burst);
+  }
+
+  /**
+   * Downloads and parses page with given URL, unless bookstore responds that it has not been
+   * modified since it was cached.
+   *
+   * @param url of page to download.
+   * @return {@link FetchedPage} with parsed document, or not modified one.
+   * @throws IOException when page could not be downloaded or server responded with an error.
+   * @throws InterruptedException when thread was interrupted while waiting for response.
+   */
+  FetchedPage fetch(String url) throws IOException, InterruptedException {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(url))
+            .timeout(readTimeout)
+            .header("User-Agent", USER_AGENT)
+            .header("Accept", "text/html,application/xhtml+xml")
+            .header("Accept-Encoding", "gzip, deflate")
+            .GET();
+    pageCache
+        .get(url)
+        .ifPresent(
+            cachedPage -> {
+              cachedPage.getEtag().ifPresent(etag -> request.header("If-None-Match", etag));
+              cachedPage
+                  .getLastModified()
+                  .ifPresent(date -> request.header("If-Modified-Since", date));
+            });
+
+    HttpResponse<byte[]> response = send(url, request.build());
+    // Not modified and error responses may declare encoding of a body they do not have
+    if (response.statusCode() == HTTP_NOT_MODIFIED) {
+      return FetchedPage.notModified(url);
+    }
+    if (response.statusCode() >= 400) {
+      throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
+    }
+
+    try (InputStream body = decode(response)) {
+      return FetchedPage.modified(
+          url,
+          Jsoup.parse(body, charsetOf(response), url),
+          response.headers().firstValue("ETag").orElse(null),
+          response.headers().firstValue("Last-Modified").orElse(null));
+    }
+  }
+
+  /**
+   * Checks if scrapped content of given page is the same as during previous run.
+   *
+   * @param page downloaded page.
+   * @param contentHash hash of page's scrapped content, see {@link PageCache#hash(String)}.
+   * @return true if content has not changed since page was cached.
+   */
+  boolean isUnchanged(FetchedPage page, String contentHash) {
+    return pageCache
+        .get(page.getUrl())
+        .flatMap(PageCache.CachedPage::getContentHash)
+        .filter(contentHash::equals)
+        .isPresent();
+  }
+
+  /**
+   * Stores validators of given page, so next request for it can be conditional.
+   *
+   * @param page downloaded page.
+   * @param contentHash hash of page's scrapped content, see {@link PageCache#hash(String)}.
+   * @param hrefs links to books found on the page.
+   */
+  void remember(FetchedPage page, String contentHash, List<String> hrefs) {
+    pageCache.put(
+        page.getUrl(),
+        new PageCache.CachedPage(
+            page.getEtag().orElse(null), page.getLastModified().orElse(null), contentHash, hrefs));
+  }
+
+  /**
+   * @param url of cached page.
+   * @return links to books found on the page when it was cached, empty when they are not known.
+   */
+  List<String> getCachedHrefs(String url) {
+    return pageCache.get(url).map(PageCache.CachedPage::getHrefs).orElse(List.of());
+  }
+
+  private HttpResponse<byte[]> send(String url, HttpRequest request)
+      throws IOException, InterruptedException {
+    HostRateLimiter rateLimiter = rateLimiters.forUrl(url);
+    for (int attempt = 0; ; attempt++) {
+      rateLimiter.acquire();
+      HttpResponse<byte[]> response = receive(url, request);
+      int status = response.statusCode();
+      if (status != HTTP_TOO_MANY_REQUESTS && status != HTTP_SERVICE_UNAVAILABLE) {
+        rateLimiter.onSuccess();
+        return response;
+      }
+      rateLimiter.onThrottled(retryAfter(response));
+      if (attempt >= rateLimiters.getMaxRetries()) {
+        throw new HttpStatusException("Bookstore throttled requests", status, url);
+      }
+    }
+  }
+
+  /**
+   * Receives whole response, body included, within read timeout. Timeout of the request itself
+   * limits only waiting for response headers.
+   */
+  private HttpResponse<byte[]> receive(String url, HttpRequest request)
+      throws IOException, InterruptedException {
+    CompletableFuture<HttpResponse<byte[]>> response =
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    try {
+      return response.get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      response.cancel(true);
+      throw new HttpTimeoutException(
+          "Response of " + url + " not received within " + readTimeout.toMillis() + " ms");
+    } catch (InterruptedException e) {
+      response.cancel(true);
+      throw e;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Fetching " + url + " failed", e.getCause());
+    }
+  }
+
+  /**
+   * @param response throttled response.
+   * @return time given in Retry-After header as seconds or HTTP date, null when it is missing.
+   */
+  private static Duration retryAfter(HttpResponse<?> response) {
+    String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+    if (retryAfter == null) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+    } catch (NumberFormatException e) {
+      try {
+        ZonedDateTime date =
+            ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        Duration untilDate = Duration.between(ZonedDateTime.now(), date);
+        return untilDate.isNegative() ? Duration.ZERO : untilDate;
+      } catch (DateTimeParseException ignored) {
+        return null;
+      }
+    }
+  }
+
+  private InputStream decode(HttpResponse<byte[]> response) throws IOException {
+    String encoding =
+        response.headers().firstValue("Content-Encoding").orElse("").toLowerCase(Locale.ROOT);
+    InputStream body = new ByteArrayInputStream(response.body());
+    switch (encoding) {
+      case "gzip":
+        return new GZIPInputStream(body);
+      case "deflate":
+        return new InflaterInputStream(body);
+      default:
+        return body;
+    }
+  }
+
+  /**
+   * Retrieves charset from Content-Type header. When it is missing, {@link Jsoup} detects charset
+   * from document's meta tags.
+   */
+  private String charsetOf(HttpResponse<?> response) {
+    return response
+        .headers()
+        .firstValue("Content-Type")
+        .map(contentType -> contentType.toLowerCase(Locale.ROOT))
+        .filter(contentType -> contentType.contains("charset="))
+        .map(contentType -> contentType.substring(contentType.indexOf("charset=") + 8).trim())
+        .map(charset -> charset.replace("\"", "").split(";")[0])
+        .orElse(null);
+  }
+}
@@ -0,0 +1,29 @@
+package edition.academy.seventh.service.scrapper;
+
+/** Outcome of scrapping single listing page, used to decide when crawling should stop. */
+enum PageResult {
+
+  /** Page contained products which were published. */
+  PRODUCTS(false),
+  /** Page has not changed since previous run, so it is assumed to contain products. */
+  UNCHANGED(false),
+  /** Page contained no products, e.g. bookstore's listing has fewer pages. */
+  EMPTY(true),
+  /** Page contained only products already published during current crawl. */
+  DUPLICATES(true),
+  /** Page could not be downloaded. */
+  FAILED(true);
+
+  private final boolean exhausted;
+
+  PageResult(boolean exhausted) {
+    this.exhausted = exhausted;
+  }
+
+  /**
+   * @return true if there is no point in scrapping following pages.
+   */
+  boolean isExhausted() {
+    return exhausted;
+  }
+}
@@ -0,0 +1,221 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.QueryParser;
+
+/**
+ * Compiled selectors of fields of a single product tile, e.g. title, author or prices. Selectors
+ * are parsed once when bookstore's scrapper is created, and all fields of a tile are extracted
+ * during one traversal of its elements, instead of separate lookup per field.
+ *
+ * <p>Selectors use CSS syntax supported by {@link org.jsoup.select.Selector}. Class names
+ * containing spaces, which have to match whole class attribute, are written as {@code
+ * [class=first second]}.
+ */
+class ProductSelectors {
+
+  private final List<Field> fields;
+  private final Map<String, Integer> indexes;
+
+  private ProductSelectors(List<Field> fields) {
+    this.fields = fields;
+    this.indexes = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      indexes.put(fields.get(i).name, i);
+    }
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Extracts all fields from given product tile in a single pass.
+   *
+   * @param tile element containing one product, tile itself is also matched.
+   * @return {@link Product} with extracted values.
+   */
+  Product extract(Element tile) {
+    String[] values = new String[fields.size()];
+    NodeTraversor.filter(new FieldsFilter(tile, values), tile);
+    return new Product(values);
+  }
+
+  /** Values extracted from single product tile. Missing values are empty. */
+  class Product {
+
+    private final String[] values;
+
+    private Product(String[] values) {
+      this.values = values;
+    }
+
+    /**
+     * @param name of field declared in {@link Builder}.
+     * @return extracted value, or empty String if no element matched.
+     * @throws IllegalArgumentException when field was not declared.
+     */
+    String get(String name) {
+      Integer index = indexes.get(name);
+      if (index == null) {
+        throw new IllegalArgumentException("Unknown product field: " + name);
+      }
+      return values[index] == null ? "" : values[index];
+    }
+  }
+
+  private class FieldsFilter implements NodeFilter {
+
+    private final Element tile;
+    private final String[] values;
+
+    private FieldsFilter(Element tile, String[] values) {
+      this.tile = tile;
+      this.values = values;
+    }
+
+    @Override
+    public FilterResult head(Node node, int depth) {
+      if (node instanceof Element) {
+        Element element = (Element) node;
+        for (int i = 0; i < fields.size(); i++) {
+          Field field = fields.get(i);
+          if (field.evaluator.matches(tile, element)) {
+            values[i] = field.read(element, values[i]);
+          }
+        }
+      }
+      return FilterResult.CONTINUE;
+    }
+
+    @Override
+    public FilterResult tail(Node node, int depth) {
+      return FilterResult.CONTINUE;
+    }
+  }
+
+  /** Reads value of a single field from every element matched by its selector. */
+  private abstract static class Field {
+
+    final String name;
+    final Evaluator evaluator;
+
+    Field(String name, String selector) {
+      this.name = name;
+      this.evaluator = QueryParser.parse(selector);
+    }
+
+    /**
+     * @param element matched by field's selector.
+     * @param current value read from previously matched elements, null if there were none.
+     * @return new value of the field.
+     */
+    abstract String read(Element element, String current);
+  }
+
+  /** Joins text of all matched elements, the same as {@link org.jsoup.select.Elements#text()}. */
+  private static class TextField extends Field {
+
+    TextField(String name, String selector) {
+      super(name, selector);
+    }
+
+    @Override
+    String read(Element element, String current) {
+      String text = element.text();
+      return current == null ? text : current + " " + text;
+    }
+  }
+
+  /** Reads text of the first matched element only. */
+  private static class FirstTextField extends Field {
+
+    FirstTextField(String name, String selector) {
+      super(name, selector);
+    }
+
+    @Override
+    String read(Element element, String current) {
+      return current == null ? element.text() : current;
+    }
+  }
+
+  /**
+   * Reads attribute of the first matched element which has it, the same as {@link
+   * org.jsoup.select.Elements#attr(String)}.
+   */
+  private static class AttributeField extends Field {
+
+    private final String attribute;
+
+    AttributeField(String name, String selector, String attribute) {
+      super(name, selector);
+      this.attribute = attribute;
+    }
+
+    @Override
+    String read(Element element, String current) {
+      if (current == null && element.hasAttr(attribute)) {
+        return element.attr(attribute);
+      }
+      return current;
+    }
+  }
+
+  /** Declares fields of product tile. */
+  static class Builder {
+
+    private final List<Field> fields = new ArrayList<>();
+
+    private Builder() {}
+
+    /**
+     * Declares field read as joined text of all matched elements.
+     *
+     * @param name of the field.
+     * @param selector CSS selector of elements.
+     * @return this builder.
+     */
+    Builder text(String name, String selector) {
+      fields.add(new TextField(name, selector));
+      return this;
+    }
+
+    /**
+     * Declares field read as text of the first matched element.
+     *
+     * @param name of the field.
+     * @param selector CSS selector of elements.
+     * @return this builder.
+     */
+    Builder firstText(String name, String selector) {
+      fields.add(new FirstTextField(name, selector));
+      return this;
+    }
+
+    /**
+     * Declares field read from attribute of the first matched element which has it.
+     *
+     * @param name of the field.
+     * @param selector CSS selector of elements.
+     * @param attribute name of the attribute.
+     * @return this builder.
+     */
+    Builder attribute(String name, String selector, String attribute) {
+      fields.add(new AttributeField(name, selector, attribute));
+      return this;
+    }
+
+    ProductSelectors build() {
+      return new ProductSelectors(new ArrayList<>(fields));
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Declarative description of a single bookstore, read from JSON file by {@link
+ * ScrapperDefinitionLoader} and executed by {@link DefinedScrapper}.
+ *
+ * <p>{@link #urlTemplate} contains {@value #PAGE_PLACEHOLDER} placeholder replaced with number of
+ * scrapped page. Every product is an element with {@link #productClass} class, its fields are read
+ * with {@link #fields} selectors.
+ */
+@Data
+@NoArgsConstructor
+class ScrapperDefinition {
+
+  static final String PAGE_PLACEHOLDER = "{page}";
+
+  private String bookstoreName;
+  private String urlTemplate;
+  private String productClass;
+  private String currency = "zł";
+  private Pages pages = new Pages();
+  private long timeoutMillis;
+  private RateLimit rateLimit;
+  private Map<String, Field> fields = new LinkedHashMap<>();
+
+  /**
+   * Numbers of scrapped pages. When {@link #last} is not given, listing is crawled until a page
+   * without products or with only already scrapped ones, with at most {@link #lookAhead} pages
+   * scrapped at the same time and {@link #maxPages} pages in total.
+   */
+  @Data
+  @NoArgsConstructor
+  static class Pages {
+
+    private int first = 1;
+    private Integer last;
+    private int step = 1;
+    private int lookAhead = 3;
+    private int maxPages = 100;
+  }
+
+  /**
+   * Limits of requests sent to bookstore's host. When not given, default limits of {@link
+   * HostRateLimiters} are used.
+   */
+  @Data
+  @NoArgsConstructor
+  static class RateLimit {
+
+    private double requestsPerSecond;
+    private int burst = 1;
+  }
+
+  /**
+   * Selector of a single product's field with normalisation of its value. Text of matched elements
+   * is read unless {@link #attribute} is given.
+   */
+  @Data
+  @NoArgsConstructor
+  static class Field {
+
+    private String selector;
+    private String attribute;
+    private boolean first;
+    private Integer token;
+    private List<String> remove = new ArrayList<>();
+    private String prefix = "";
+  }
+}
@@ -0,0 +1,107 @@
+package edition.academy.seventh.service.scrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * Reads {@link ScrapperDefinition scrapper definitions} from {@value #CLASSPATH_DEFINITIONS} JSON
+ * files. Definitions from external directory, if given, are read afterwards and replace classpath
+ * ones with the same file name, so bookstores can be added or tuned without rebuilding the
+ * application.
+ */
+class ScrapperDefinitionLoader {
+
+  static final String CLASSPATH_DEFINITIONS = "classpath*:scrappers/*.json";
+  private static final String EXTENSION = ".json";
+  private static final List<String> REQUIRED_FIELDS =
+      List.of("title", "author", "href", "imageLink", "retailPrice", "promotionalPrice");
+
+  private final ResourcePatternResolver resourceResolver =
+      new PathMatchingResourcePatternResolver();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final String externalDirectory;
+
+  /**
+   * @param externalDirectory directory with additional definitions, ignored when empty.
+   */
+  ScrapperDefinitionLoader(String externalDirectory) {
+    this.externalDirectory = externalDirectory;
+  }
+
+  /**
+   * Reads and validates all definitions.
+   *
+   * @return definitions by name of their file without extension.
+   * @throws IllegalStateException when definition could not be read or is invalid.
+   */
+  Map<String, ScrapperDefinition> load() {
+    Map<String, ScrapperDefinition> definitions = new TreeMap<>();
+    loadFrom(CLASSPATH_DEFINITIONS, definitions);
+    if (externalDirectory != null && !externalDirectory.isBlank()) {
+      loadFrom("file:" + externalDirectory + "/*" + EXTENSION, definitions);
+    }
+    return definitions;
+  }
+
+  private void loadFrom(String locationPattern, Map<String, ScrapperDefinition> definitions) {
+    try {
+      for (Resource resource : resourceResolver.getResources(locationPattern)) {
+        String fileName = resource.getFilename();
+        String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+        definitions.put(name, read(resource));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not find scrapper definitions " + locationPattern, e);
+    }
+  }
+
+  private ScrapperDefinition read(Resource resource) {
+    ScrapperDefinition definition;
+    try (InputStream inputStream = resource.getInputStream()) {
+      definition = objectMapper.readValue(inputStream, ScrapperDefinition.class);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read scrapper definition " + resource, e);
+    }
+    validate(definition, resource);
+    return definition;
+  }
+
+  private void validate(ScrapperDefinition definition, Resource resource) {
+    if (definition.getBookstoreName() == null || definition.getProductClass() == null) {
+      throw invalid(resource, "bookstoreName and productClass are required");
+    }
+    if (definition.getUrlTemplate() == null
+        || !definition.getUrlTemplate().contains(ScrapperDefinition.PAGE_PLACEHOLDER)) {
+      throw invalid(
+          resource, "urlTemplate has to contain " + ScrapperDefinition.PAGE_PLACEHOLDER);
+    }
+    ScrapperDefinition.Pages pages = definition.getPages();
+    if (pages.getStep() <= 0 || pages.getLookAhead() <= 0 || pages.getMaxPages() <= 0) {
+      throw invalid(
+          resource, "pages.step, pages.lookAhead and pages.maxPages have to be positive");
+    }
+    ScrapperDefinition.RateLimit rateLimit = definition.getRateLimit();
+    if (rateLimit != null
+        && (rateLimit.getRequestsPerSecond() <= 0 || rateLimit.getBurst() <= 0)) {
+      throw invalid(
+          resource, "rateLimit.requestsPerSecond and rateLimit.burst have to be positive");
+    }
+    for (String field : REQUIRED_FIELDS) {
+      ScrapperDefinition.Field selector = definition.getFields().get(field);
+      if (selector == null || selector.getSelector() == null) {
+        throw invalid(resource, "selector of " + field + " field is required");
+      }
+    }
+  }
+
+  private IllegalStateException invalid(Resource resource, String reason) {
+    return new IllegalStateException("Invalid scrapper definition " + resource + ": " + reason);
+  }
+}
@@ -0,0 +1,45 @@
+package edition.academy.seventh.service.scrapper;
+
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers {@link DefinedScrapper} bean for every definition found by {@link
+ * ScrapperDefinitionLoader}. Bean of "empik.json" definition is named "empikScrapper". Remaining
+ * constructor arguments of scrappers are autowired.
+ */
+class ScrapperDefinitionRegistrar
+    implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+  private Environment environment;
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+    String externalDirectory = environment.getProperty("robot.scrappersDirectory", "");
+    new ScrapperDefinitionLoader(externalDirectory)
+        .load()
+        .forEach(
+            (name, definition) -> {
+              AbstractBeanDefinition beanDefinition =
+                  BeanDefinitionBuilder.genericBeanDefinition(DefinedScrapper.class)
+                      .addConstructorArgValue(definition)
+                      .setAutowireMode(AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR)
+                      .getBeanDefinition();
+              registry.registerBeanDefinition(name + "Scrapper", beanDefinition);
+            });
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {}
+}
@@ -0,0 +1,86 @@
+package edition.academy.seventh.database.connector;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import javax.persistence.EntityManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class EntityConnectorTest {
+
+  private InMemoryH2Connector connector;
+
+  @BeforeMethod
+  public void createConnector() {
+    connector = new InMemoryH2Connector("pool");
+  }
+
+  @AfterMethod
+  public void closeConnector() {
+    connector.close();
+  }
+
+  public void should_holdPooledConnection_onlyWhileTransactionIsActive() {
+    // Given
+    EntityManager entityManager = connector.getEntityManager();
+    HikariPoolMXBean pool = connector.getPoolStatistics();
+
+    // When
+    entityManager.getTransaction().begin();
+    entityManager.createNativeQuery("SELECT 1").getSingleResult();
+    int activeInTransaction = pool.getActiveConnections();
+    entityManager.getTransaction().commit();
+    entityManager.close();
+
+    // Then
+    assertEquals(activeInTransaction, 1);
+    assertEquals(pool.getActiveConnections(), 0);
+    assertTrue(pool.getTotalConnections() <= EntityConnector.DEFAULT_POOL_SIZE);
+  }
+
+  public void should_keepFactoryAndPool_when_entityManagersAreClosed() {
+    // Given
+    HikariPoolMXBean pool = connector.getPoolStatistics();
+
+    // When
+    for (int i = 0; i < 3; i++) {
+      EntityManager entityManager = connector.getEntityManager();
+      entityManager.createNativeQuery("SELECT 1").getSingleResult();
+      entityManager.close();
+    }
+
+    // Then
+    assertTrue(pool == connector.getPoolStatistics());
+    assertTrue(pool.getTotalConnections() > 0);
+  }
+
+  public void should_createNewPool_when_usedAfterClose() {
+    // Given
+    HikariPoolMXBean closedPool = connector.getPoolStatistics();
+    connector.close();
+
+    // When
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.createNativeQuery("SELECT 1").getSingleResult();
+    entityManager.close();
+
+    // Then
+    assertTrue(closedPool != connector.getPoolStatistics());
+  }
+
+  public void should_doNothing_when_closedBeforeFirstUse() {
+    // Given
+    InMemoryH2Connector unused = new InMemoryH2Connector("unused");
+
+    // When
+    unused.close();
+
+    // Then
+    assertEquals(unused.getPoolStatistics().getActiveConnections(), 0);
+    unused.close();
+  }
+}
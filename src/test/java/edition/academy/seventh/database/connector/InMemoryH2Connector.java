@@ -0,0 +1,27 @@
+package edition.academy.seventh.database.connector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Connects to private in-memory H2 database, dropped when the connector is closed. */
+public class InMemoryH2Connector extends EntityConnector {
+
+  private final String databaseName;
+
+  public InMemoryH2Connector(String databaseName) {
+    super("H2Unit");
+    this.databaseName = databaseName;
+  }
+
+  @Override
+  final Map<String, String> loadPersistenceSettings() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+    settings.put("javax.persistence.jdbc.user", "sa");
+    settings.put("javax.persistence.jdbc.password", "");
+    settings.put("javax.persistence.jdbc.url", "jdbc:h2:mem:" + databaseName);
+    settings.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+    settings.put("hibernate.hbm2ddl.auto", "create-drop");
+    return settings;
+  }
+}
@@ -0,0 +1,22 @@
+package edition.academy.seventh.database.connector;
+
+import javax.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** Creates beans of {@link PersistenceConfiguration} for connectors used outside of Spring. */
+public final class TestPersistence {
+
+  private static final PersistenceConfiguration configuration = new PersistenceConfiguration();
+
+  private TestPersistence() {}
+
+  public static EntityManager sharedEntityManager(ConnectorProvider connectorProvider) {
+    return configuration.entityManager(connectorProvider.getEntityManagerFactory());
+  }
+
+  public static PlatformTransactionManager transactionManager(
+      ConnectorProvider connectorProvider) {
+    return configuration.transactionManager(
+        connectorProvider.getEntityManagerFactory(), configuration.jpaDialect());
+  }
+}
@@ -0,0 +1,91 @@
+package edition.academy.seventh.display;
+
+import static org.testng.Assert.assertEquals;
+
+import edition.academy.seventh.database.connector.InMemoryH2Connector;
+import edition.academy.seventh.database.connector.TestPersistence;
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.repository.BookDtoParser;
+import edition.academy.seventh.repository.BookRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class LazyBookPaginationTest {
+
+  private InMemoryH2Connector connector;
+  private Pagination<BookDto> pagination;
+
+  @BeforeMethod
+  public void createPagination() {
+    connector = new InMemoryH2Connector("pagination");
+    BookDtoParser bookDtoParser = new BookDtoParser(null);
+    BookRepository repository =
+        new BookRepository(
+            bookDtoParser,
+            connector,
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+    bookDtoParser.setRepository(repository);
+    repository.addBooksToDatabase(
+        IntStream.rangeClosed(1, 25).mapToObj(this::createBookDto).collect(Collectors.toList()));
+    pagination =
+        PaginationFactory.createLazyBookPagination(
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+  }
+
+  @AfterMethod
+  public void closeConnector() {
+    connector.close();
+  }
+
+  public void should_returnPagesOfCurrentOffers_when_sortedByPriceDescending() {
+    // Given
+    pagination.changePaginationSize(PaginationSize.TEN);
+
+    // When
+    List<BookDto> firstPage = pagination.changeFilter(BookFilterType.PRICE_DESCENDING);
+    List<BookDto> secondPage = pagination.nextPage();
+
+    // Then
+    assertEquals(retailPrices(firstPage), pricesBetween(25, 16));
+    assertEquals(retailPrices(secondPage), pricesBetween(15, 6));
+  }
+
+  public void should_returnLastIncompletePage_when_sortedByTitle() {
+    // Given
+    pagination.changePaginationSize(PaginationSize.TEN);
+    pagination.changeFilter(BookFilterType.TITLE_ASCENDING);
+    pagination.nextPage();
+
+    // When
+    List<BookDto> lastPage = pagination.nextPage();
+
+    // Then
+    assertEquals(lastPage.size(), 5);
+    assertEquals(lastPage.get(0).getTitle(), "Title 21");
+  }
+
+  private List<BigDecimal> retailPrices(List<BookDto> books) {
+    return books.stream().map(BookDto::getRetailPrice).collect(Collectors.toList());
+  }
+
+  private List<BigDecimal> pricesBetween(int from, int to) {
+    return IntStream.rangeClosed(to, from)
+        .map(price -> from + to - price)
+        .mapToObj(price -> new BigDecimal(price + ".00"))
+        .collect(Collectors.toList());
+  }
+
+  private BookDto createBookDto(int number) {
+    return new BookDto(String.format("Title %02d", number), "", "Author", "zł",
+        new BigDecimal(number + ".00"), new BigDecimal("1.00"), "image", "href" + number,
+        "Bookstore");
+  }
+}
@@ -0,0 +1,123 @@
+package edition.academy.seventh.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.model.Book;
+import edition.academy.seventh.model.BookId;
+import edition.academy.seventh.model.Bookstore;
+import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+@Test
+public class BookDtoParserTest {
+
+  public void should_notQueryDatabase_when_parsingBatchOfBooks() {
+    // Given
+    BookRepository bookRepository = mock(BookRepository.class);
+    BookDtoParser parser = new BookDtoParser(bookRepository);
+
+    // When
+    parser.parseBookDtosIntoModel(
+        List.of(createBookDto("Title", "href"), createBookDto("Title2", "href2")),
+        new IngestIdentityMap(Map.of(), Map.of(), Map.of(), Map.of()));
+
+    // Then
+    verify(bookRepository, times(2)).saveOrUpdateBook(any(Book.class), isNull());
+    verify(bookRepository, times(1)).saveOrUpdateBookstore(any(Bookstore.class), isNull());
+    verify(bookRepository, times(1)).saveOrUpdateBookstore(any(Bookstore.class), notNull());
+    verify(bookRepository, times(2)).saveOrUpdateBookstoreBook(any(BookstoreBook.class), isNull());
+    verify(bookRepository, times(2)).saveOrUpdateCurrentOffer(any(CurrentOffer.class), isNull());
+    verifyNoMoreInteractions(bookRepository);
+  }
+
+  public void should_updateInsteadOfPersist_when_bookstoreBookIsDuplicatedInBatch() {
+    // Given
+    BookRepository bookRepository = mock(BookRepository.class);
+    BookDtoParser parser = new BookDtoParser(bookRepository);
+
+    // When
+    parser.parseBookDtosIntoModel(
+        List.of(createBookDto("Title", "href"), createBookDto("Title", "href")),
+        new IngestIdentityMap(Map.of(), Map.of(), Map.of(), Map.of()));
+
+    // Then
+    verify(bookRepository, times(1)).saveOrUpdateBookstoreBook(any(BookstoreBook.class), isNull());
+    verify(bookRepository, times(1))
+        .saveOrUpdateBookstoreBook(any(BookstoreBook.class), notNull());
+    verify(bookRepository, times(1)).saveOrUpdateBook(any(Book.class), isNull());
+    verify(bookRepository, times(1)).saveOrUpdateBookstore(any(Bookstore.class), isNull());
+    verify(bookRepository, times(1))
+        .saveOrUpdateBookstore(any(Bookstore.class), eq(new Bookstore("Bookstore")));
+    verify(bookRepository, times(1)).saveOrUpdateCurrentOffer(any(CurrentOffer.class), isNull());
+    verify(bookRepository, times(1))
+        .saveOrUpdateCurrentOffer(any(CurrentOffer.class), notNull());
+  }
+
+  public void should_updateEntities_when_theyArePreloadedInIdentityMap() {
+    // Given
+    BookRepository bookRepository = mock(BookRepository.class);
+    BookDtoParser parser = new BookDtoParser(bookRepository);
+    Book book = new Book(new BookId("Title", "Author"), "");
+    Bookstore bookstore = new Bookstore("Bookstore");
+    BookstoreBook bookstoreBook = new BookstoreBook("href", "image", bookstore, book);
+    CurrentOffer currentOffer = new CurrentOffer();
+    IngestIdentityMap identityMap =
+        new IngestIdentityMap(
+            Map.of(book.getBookId(), book),
+            Map.of("Bookstore", bookstore),
+            Map.of("href", bookstoreBook),
+            Map.of("href", currentOffer));
+
+    // When
+    parser.parseBookDtosIntoModel(List.of(createBookDto("Title", "href")), identityMap);
+
+    // Then
+    verify(bookRepository).saveOrUpdateBook(any(Book.class), eq(book));
+    verify(bookRepository).saveOrUpdateBookstore(any(Bookstore.class), eq(bookstore));
+    verify(bookRepository).saveOrUpdateBookstoreBook(any(BookstoreBook.class), eq(bookstoreBook));
+    verify(bookRepository).saveOrUpdateCurrentOffer(any(CurrentOffer.class), eq(currentOffer));
+  }
+
+  public void should_notSavePrice_when_itDidNotChange() {
+    // Given
+    BookRepository bookRepository = mock(BookRepository.class);
+    BookDtoParser parser = new BookDtoParser(bookRepository);
+    BookstoreBook bookstoreBook =
+        new BookstoreBook("href", "image", new Bookstore("Bookstore"), new Book());
+    CurrentOffer currentOffer = new CurrentOffer();
+    currentOffer.setRetailPrice(new BigDecimal("20.0"));
+    currentOffer.setPromotionalPrice(new BigDecimal("15.00"));
+    currentOffer.setCurrency("zł");
+    IngestIdentityMap identityMap =
+        new IngestIdentityMap(
+            Map.of(), Map.of(), Map.of("href", bookstoreBook), Map.of("href", currentOffer));
+    ArgumentCaptor<BookstoreBook> saved = ArgumentCaptor.forClass(BookstoreBook.class);
+
+    // When
+    parser.parseBookDtosIntoModel(List.of(createBookDto("Title", "href")), identityMap);
+
+    // Then
+    verify(bookRepository).saveOrUpdateBookstoreBook(saved.capture(), eq(bookstoreBook));
+    assertTrue(saved.getValue().getPriceHistories().isEmpty());
+    verify(bookRepository).saveOrUpdateCurrentOffer(any(CurrentOffer.class), eq(currentOffer));
+  }
+
+  private BookDto createBookDto(String title, String href) {
+    return new BookDto(title, "", "Author", "zł", new BigDecimal("20.00"),
+        new BigDecimal("15.00"), "image", href, "Bookstore");
+  }
+}
@@ -0,0 +1,74 @@
+package edition.academy.seventh.repository;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.connector.InMemoryH2Connector;
+import edition.academy.seventh.database.connector.TestPersistence;
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.model.Book;
+import edition.academy.seventh.model.Bookstore;
+import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class BookRepositoryCacheTest {
+
+  private InMemoryH2Connector connector;
+  private BookRepository repository;
+
+  @BeforeMethod
+  public void createRepository() {
+    connector = new InMemoryH2Connector("cache");
+    BookDtoParser bookDtoParser = new BookDtoParser(null);
+    repository =
+        new BookRepository(
+            bookDtoParser,
+            connector,
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+    bookDtoParser.setRepository(repository);
+  }
+
+  @AfterMethod
+  public void closeConnector() {
+    connector.close();
+  }
+
+  public void should_takeBooksAndBookstoresFromCache_when_sameBooksAreSavedAgain() {
+    // Given
+    List<BookDto> books =
+        List.of(
+            createBookDto("Clean Code", "Robert C. Martin", "href1", "Empik"),
+            createBookDto("Refactoring", "Martin Fowler", "href2", "Empik"),
+            createBookDto("Clean Code", "Robert C. Martin", "href3", "Bookoff"));
+    repository.addBooksToDatabase(books);
+    Statistics statistics = connector.getStatistics();
+    statistics.clear();
+
+    // When
+    repository.addBooksToDatabase(books);
+    repository.addBooksToDatabase(books);
+
+    // Then
+    CacheRegionStatistics bookRegion =
+        statistics.getDomainDataRegionStatistics(Book.class.getName());
+    CacheRegionStatistics bookstoreRegion =
+        statistics.getDomainDataRegionStatistics(Bookstore.class.getName());
+    assertTrue(bookRegion.getHitCount() > 0);
+    assertEquals(bookRegion.getMissCount(), 0);
+    assertTrue(bookstoreRegion.getHitCount() > 0);
+    assertEquals(bookstoreRegion.getMissCount(), 0);
+    assertEquals(statistics.getQueryCacheHitCount(), 1);
+  }
+
+  private BookDto createBookDto(String title, String author, String href, String bookstore) {
+    return new BookDto(title, "", author, "zł", new BigDecimal("20.00"),
+        new BigDecimal("15.00"), "image", href, bookstore);
+  }
+}
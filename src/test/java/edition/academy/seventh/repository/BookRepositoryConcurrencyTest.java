@@ -0,0 +1,111 @@
+package edition.academy.seventh.repository;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import edition.academy.seventh.database.connector.InMemoryH2Connector;
+import edition.academy.seventh.database.connector.TestPersistence;
+import edition.academy.seventh.database.model.BookDto;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class BookRepositoryConcurrencyTest {
+
+  private static final int READERS = 8;
+  private static final int READS = 5;
+  private static final int BATCH_SIZE = 10;
+  private static final int SAVED_BOOKS = 40;
+  private static final int INGESTS = 3;
+
+  private InMemoryH2Connector connector;
+  private BookRepository repository;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void createRepository() {
+    connector = new InMemoryH2Connector("concurrency");
+    BookDtoParser bookDtoParser = new BookDtoParser(null);
+    repository =
+        new BookRepository(
+            bookDtoParser,
+            connector,
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+    bookDtoParser.setRepository(repository);
+    repository.setBatchSize(BATCH_SIZE);
+    executor = Executors.newFixedThreadPool(READERS + 1);
+  }
+
+  @AfterMethod
+  public void closeConnector() throws InterruptedException {
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    connector.close();
+  }
+
+  public void should_readConsistentBooks_when_ingestRunsConcurrently() throws Exception {
+    // Given
+    repository.addBooksToDatabase(createBookDtos("initial", SAVED_BOOKS));
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> operations = new ArrayList<>();
+
+    // When
+    operations.add(
+        executor.submit(
+            () -> {
+              start.await();
+              for (int ingest = 0; ingest < INGESTS; ingest++) {
+                repository.addBooksToDatabase(createBookDtos("ingest" + ingest, SAVED_BOOKS));
+              }
+              return null;
+            }));
+    for (int reader = 0; reader < READERS; reader++) {
+      int offset = reader;
+      operations.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int read = 0; read < READS; read++) {
+                  int books = repository.getLatestBooksFromDatabase().size();
+                  assertEquals(books % BATCH_SIZE, 0, "Batch read before being committed");
+                  assertNotNull(repository.getBookstoreBookDtoByHref(
+                      "initial" + (offset + read) % SAVED_BOOKS));
+                  assertNull(repository.getBookstoreBookDtoByHref("missing" + read));
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> operation : operations) {
+      operation.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then
+    assertEquals(
+        repository.getLatestBooksFromDatabase().size(), SAVED_BOOKS * (INGESTS + 1));
+    assertEquals(connector.getPoolStatistics().getActiveConnections(), 0);
+  }
+
+  private List<BookDto> createBookDtos(String prefix, int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                new BookDto(prefix + " title " + i, "", "author " + i, "zł",
+                    new BigDecimal("20.00"), new BigDecimal("15.00"), "image", prefix + i,
+                    "Empik"))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,249 @@
+package edition.academy.seventh.repository;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.connector.InMemoryH2Connector;
+import edition.academy.seventh.database.connector.TestPersistence;
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.database.model.BookstoreBookDto;
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
+import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.CurrentOffer;
+import edition.academy.seventh.model.PriceAtTheMoment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class BookRepositoryTest {
+
+  private InMemoryH2Connector connector;
+  private BookRepository repository;
+
+  @BeforeMethod
+  public void createRepository() {
+    connector = new InMemoryH2Connector("repository");
+    BookDtoParser bookDtoParser = new BookDtoParser(null);
+    repository =
+        new BookRepository(
+            bookDtoParser,
+            connector,
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+    bookDtoParser.setRepository(repository);
+  }
+
+  @AfterMethod
+  public void closeConnector() {
+    connector.close();
+  }
+
+  public void should_returnLatestPrices_when_booksWereSavedSeveralTimes() {
+    // Given
+    repository.addBooksToDatabase(
+        List.of(createBookDto("Clean Code", "href1", "20.00"),
+            createBookDto("Refactoring", "href2", "30.00")));
+    repository.addBooksToDatabase(
+        List.of(createBookDto("Clean Code", "href1", "18.00"),
+            createBookDto("Refactoring", "href2", "35.00")));
+
+    // When
+    List<BookDto> books = repository.getLatestBooksFromDatabase();
+
+    // Then
+    List<BookDto> sorted =
+        books.stream().sorted(Comparator.comparing(BookDto::getHref)).collect(Collectors.toList());
+    assertEquals(sorted, List.of(createBookDto("Clean Code", "href1", "18.00"),
+        createBookDto("Refactoring", "href2", "35.00")));
+  }
+
+  public void should_readLatestBooksWithSingleStatement_when_historyGrows() {
+    // Given
+    for (int run = 0; run < 3; run++) {
+      repository.addBooksToDatabase(
+          List.of(createBookDto("Clean Code", "href1", "2" + run + ".00"),
+              createBookDto("Refactoring", "href2", "3" + run + ".00")));
+    }
+    Statistics statistics = connector.getStatistics();
+    statistics.clear();
+
+    // When
+    List<BookDto> books = repository.getLatestBooksFromDatabase();
+
+    // Then
+    assertEquals(books.size(), 2);
+    assertEquals(statistics.getPrepareStatementCount(), 1);
+    assertEquals(statistics.getEntityLoadCount(), 0);
+  }
+
+  public void should_returnWholePriceHistoryInOrder_when_bookIsFoundByHref() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "18.00")));
+
+    // When
+    BookstoreBookDto book = repository.getBookstoreBookDtoByHref("href1");
+
+    // Then
+    List<BigDecimal> prices =
+        book.getPriceAtTheMomentDtos().stream()
+            .map(PriceAtTheMomentDto::getRetailPrice)
+            .collect(Collectors.toList());
+    assertEquals(prices, List.of(new BigDecimal("20.00"), new BigDecimal("18.00")));
+  }
+
+  public void should_createCurrentOffersFromLatestPrices_when_theyAreMissing() {
+    // Given
+    repository.addBooksToDatabase(
+        List.of(createBookDto("Clean Code", "href1", "20.00"),
+            createBookDto("Refactoring", "href2", "30.00")));
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "18.00")));
+    deleteCurrentOffers();
+
+    // When
+    int created = repository.fillMissingCurrentOffers();
+
+    // Then
+    assertEquals(created, 2);
+    assertEquals(repository.fillMissingCurrentOffers(), 0);
+    List<BookDto> sorted =
+        repository.getLatestBooksFromDatabase().stream()
+            .sorted(Comparator.comparing(BookDto::getHref))
+            .collect(Collectors.toList());
+    assertEquals(sorted, List.of(createBookDto("Clean Code", "href1", "18.00"),
+        createBookDto("Refactoring", "href2", "30.00")));
+  }
+
+  public void should_saveOnlyChangedPrices_when_booksAreSavedRepeatedly() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "18.00")));
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "18.00")));
+
+    // When
+    BookstoreBookDto book = repository.getBookstoreBookDtoByHref("href1");
+
+    // Then
+    assertEquals(retailPrices(book), List.of(new BigDecimal("20.00"), new BigDecimal("18.00")));
+    assertEquals(repository.getLatestBooksFromDatabase(),
+        List.of(createBookDto("Clean Code", "href1", "18.00")));
+  }
+
+  public void should_keepFirstOfUnchangedPrices_when_historyIsCompacted() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    savePrices("href1", "20.00", "20.00", "18.00", "18.00", "20.00");
+
+    // When
+    int deleted = repository.compactPriceHistory();
+
+    // Then
+    assertEquals(deleted, 3);
+    assertEquals(repository.compactPriceHistory(), 0);
+    assertEquals(retailPrices(repository.getBookstoreBookDtoByHref("href1")),
+        List.of(new BigDecimal("20.00"), new BigDecimal("18.00"), new BigDecimal("20.00")));
+  }
+
+  public void should_returnDownsampledPricesFromRange_when_priceHistoryIsRequested() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    LocalDateTime start = LocalDateTime.of(2026, 1, 1, 6, 0);
+    for (int i = 0; i < 100; i++) {
+      savePrice("href1", i == 50 ? "5.00" : "2" + i % 10 + ".00", start.plusHours(12L * i));
+    }
+
+    // When
+    List<PriceAtTheMomentDto> history =
+        repository.getPriceHistory("href1", start.plusDays(5), start.plusDays(45), 10);
+
+    // Then
+    assertEquals(history.size(), 10);
+    assertEquals(history.get(0).getDate(), start.plusDays(5));
+    assertEquals(history.get(9).getDate(), start.plusDays(45).minusHours(12));
+    assertTrue(
+        history.stream().anyMatch(price -> price.getRetailPrice().equals(new BigDecimal("5.00"))));
+    assertEquals(repository.getPriceHistory("href1", null, start.plusDays(1), 10).size(), 2);
+    assertTrue(repository.getPriceHistory("missing", null, null, 10).isEmpty());
+  }
+
+  public void should_updateOnlyLastSeen_when_offersAreMarkedAsSeen() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("Clean Code", "href1", "20.00")));
+    setLastSeen("href1", LocalDateTime.of(2026, 1, 1, 6, 0));
+
+    // When
+    int updated = repository.markOffersAsSeen(List.of("href1", "missing"));
+
+    // Then
+    assertEquals(updated, 1);
+    assertTrue(getLastSeen("href1").isAfter(LocalDateTime.of(2026, 1, 1, 6, 0)));
+    assertEquals(
+        retailPrices(repository.getBookstoreBookDtoByHref("href1")),
+        List.of(new BigDecimal("20.00")));
+  }
+
+  private List<BigDecimal> retailPrices(BookstoreBookDto book) {
+    return book.getPriceAtTheMomentDtos().stream()
+        .map(PriceAtTheMomentDto::getRetailPrice)
+        .collect(Collectors.toList());
+  }
+
+  private void savePrices(String href, String... retailPrices) {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    BookstoreBook bookstoreBook = entityManager.find(BookstoreBook.class, href);
+    for (String retailPrice : retailPrices) {
+      entityManager.persist(new PriceAtTheMoment(bookstoreBook, new BigDecimal(retailPrice),
+          new BigDecimal("15.00"), "zł", LocalDateTime.now()));
+    }
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private void savePrice(String href, String retailPrice, LocalDateTime date) {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    BookstoreBook bookstoreBook = entityManager.find(BookstoreBook.class, href);
+    entityManager.persist(
+        new PriceAtTheMoment(bookstoreBook, new BigDecimal(retailPrice), null, "zł", date));
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private void setLastSeen(String href, LocalDateTime lastSeen) {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    entityManager.find(CurrentOffer.class, href).setLastSeen(lastSeen);
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private LocalDateTime getLastSeen(String href) {
+    EntityManager entityManager = connector.getEntityManager();
+    LocalDateTime lastSeen = entityManager.find(CurrentOffer.class, href).getLastSeen();
+    entityManager.close();
+    return lastSeen;
+  }
+
+  private void deleteCurrentOffers() {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    entityManager.createQuery("DELETE FROM current_offer").executeUpdate();
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private BookDto createBookDto(String title, String href, String retailPrice) {
+    return new BookDto(title, "", "Robert C. Martin", "zł", new BigDecimal(retailPrice),
+        new BigDecimal("15.00"), "image", href, "Empik");
+  }
+}
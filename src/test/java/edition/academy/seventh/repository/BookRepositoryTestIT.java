@@ -6,7 +6,9 @@
 import static org.testng.Assert.assertTrue;
 
 import edition.academy.seventh.database.connector.ConnectorFactory;
+import edition.academy.seventh.database.connector.ConnectorProvider;
 import edition.academy.seventh.database.connector.DatabaseType;
+import edition.academy.seventh.database.connector.TestPersistence;
 import edition.academy.seventh.database.model.BookDto;
 import edition.academy.seventh.database.model.BookstoreBookDto;
 import java.math.BigDecimal;
@@ -27,11 +29,16 @@ public class BookRepositoryTestIT {
   @BeforeTest
   public void init(){
     BookDtoParser bookDtoParser = new BookDtoParser(repository);
-    repository = new BookRepository(bookDtoParser);
+    ConnectorProvider connectorProvider = ConnectorFactory.of(DatabaseType.H2);
+    repository =
+        new BookRepository(
+            bookDtoParser,
+            connectorProvider,
+            TestPersistence.sharedEntityManager(connectorProvider),
+            TestPersistence.transactionManager(connectorProvider));
 
     bookDtoParser.setRepository(repository);
 
-    repository.setConnectorProvider(ConnectorFactory.of(DatabaseType.H2));
     repository.addBooksToDatabase(
         Collections.singletonList(new BookDto("TEST", "TEST", "TEST", "$",
             new BigDecimal("13.05"), new BigDecimal("15.88")
@@ -0,0 +1,90 @@
+package edition.academy.seventh.repository;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.model.Book;
+import edition.academy.seventh.model.BookId;
+import edition.academy.seventh.model.Bookstore;
+import edition.academy.seventh.model.BookstoreBook;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+@Test
+public class IngestIdentityMapTest {
+
+  public void should_queryDatabaseInChunks_when_preloadingIngest() {
+    // Given
+    BookRepository bookRepository = mock(BookRepository.class);
+    when(bookRepository.getBooksByIds(anyCollection())).thenReturn(new HashMap<>());
+    when(bookRepository.getAllBookstores()).thenReturn(Map.of("Bookstore", new Bookstore()));
+    when(bookRepository.getBookstoreBooksByIds(anyCollection())).thenReturn(new HashMap<>());
+    when(bookRepository.getCurrentOffersByIds(anyCollection())).thenReturn(new HashMap<>());
+    List<BookDto> bookDtos =
+        IntStream.range(0, 25)
+            .mapToObj(i -> createBookDto("Title" + i, "href" + i))
+            .collect(Collectors.toList());
+
+    // When
+    IngestIdentityMap identityMap = IngestIdentityMap.preload(bookRepository, bookDtos, 10);
+
+    // Then
+    verify(bookRepository, times(3)).getBooksByIds(anyCollection());
+    verify(bookRepository, times(1)).getAllBookstores();
+    verify(bookRepository, times(3)).getBookstoreBooksByIds(anyCollection());
+    verify(bookRepository, times(3)).getCurrentOffersByIds(anyCollection());
+    assertEquals(identityMap.getBookstore("Bookstore"), new Bookstore());
+  }
+
+  public void should_knowSavedEntities_when_batchIsCommitted() {
+    // Given
+    IngestIdentityMap identityMap = new IngestIdentityMap(Map.of(), Map.of(), Map.of(), Map.of());
+    BookstoreBook bookstoreBook = createBookstoreBook();
+
+    // When
+    identityMap.rememberSaved(bookstoreBook);
+    identityMap.commit();
+    identityMap.rollback();
+
+    // Then
+    assertEquals(identityMap.getBookstoreBook("href"), bookstoreBook);
+    assertEquals(identityMap.getBook(new BookId("Title", "Author")), bookstoreBook.getBook());
+    assertEquals(identityMap.getBookstore("Bookstore"), bookstoreBook.getBookstore());
+  }
+
+  public void should_forgetSavedEntities_when_batchIsRolledBack() {
+    // Given
+    IngestIdentityMap identityMap = new IngestIdentityMap(Map.of(), Map.of(), Map.of(), Map.of());
+    identityMap.rememberSaved(createBookstoreBook());
+
+    // When
+    identityMap.rollback();
+
+    // Then
+    assertNull(identityMap.getBookstoreBook("href"));
+    assertNull(identityMap.getBook(new BookId("Title", "Author")));
+    assertNull(identityMap.getBookstore("Bookstore"));
+  }
+
+  private BookstoreBook createBookstoreBook() {
+    return new BookstoreBook(
+        "href", "image", new Bookstore("Bookstore"),
+        new Book(new BookId("Title", "Author"), ""));
+  }
+
+  private BookDto createBookDto(String title, String href) {
+    return new BookDto(title, "", "Author", "zł", new BigDecimal("20.00"),
+        new BigDecimal("15.00"), "image", href, "Bookstore");
+  }
+}
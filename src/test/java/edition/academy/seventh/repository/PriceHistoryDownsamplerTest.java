@@ -0,0 +1,79 @@
+package edition.academy.seventh.repository;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+
+@Test
+public class PriceHistoryDownsamplerTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 6, 0);
+
+  public void should_keepAllPrices_when_thereAreNotMoreThanMaxPoints() {
+    // Given
+    List<PriceAtTheMomentDto> prices = createPrices(10, 5);
+    PriceHistoryDownsampler downsampler = new PriceHistoryDownsampler(prices.size(), 10);
+
+    // When
+    prices.forEach(downsampler);
+
+    // Then
+    assertEquals(downsampler.finish(), prices);
+  }
+
+  public void should_keepFirstLastAndPeak_when_historyIsDownsampled() {
+    // Given
+    List<PriceAtTheMomentDto> prices = createPrices(1000, 500);
+    prices.set(500, createPrice(500, "5.00"));
+    PriceHistoryDownsampler downsampler = new PriceHistoryDownsampler(prices.size(), 20);
+
+    // When
+    prices.forEach(downsampler);
+    List<PriceAtTheMomentDto> downsampled = downsampler.finish();
+
+    // Then
+    assertEquals(downsampled.size(), 20);
+    assertEquals(downsampled.get(0), prices.get(0));
+    assertEquals(downsampled.get(19), prices.get(999));
+    assertTrue(downsampled.contains(prices.get(500)));
+    for (int i = 1; i < downsampled.size(); i++) {
+      assertTrue(downsampled.get(i - 1).getDate().isBefore(downsampled.get(i).getDate()));
+    }
+  }
+
+  public void should_returnNothing_when_historyIsEmpty() {
+    // Given
+    PriceHistoryDownsampler downsampler = new PriceHistoryDownsampler(0, 3);
+
+    // When
+    List<PriceAtTheMomentDto> downsampled = downsampler.finish();
+
+    // Then
+    assertTrue(downsampled.isEmpty());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void should_throwException_when_lessThanThreePointsAreRequested() {
+    // When
+    new PriceHistoryDownsampler(10, 2);
+  }
+
+  private List<PriceAtTheMomentDto> createPrices(int count, int period) {
+    List<PriceAtTheMomentDto> prices = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      prices.add(createPrice(i, String.valueOf(20 + i % period * 0.01)));
+    }
+    return prices;
+  }
+
+  private PriceAtTheMomentDto createPrice(int index, String price) {
+    return new PriceAtTheMomentDto(
+        new BigDecimal(price), null, "zł", START.plusHours(12L * index));
+  }
+}
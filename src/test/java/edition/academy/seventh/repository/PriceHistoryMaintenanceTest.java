@@ -0,0 +1,154 @@
+package edition.academy.seventh.repository;
+
+import static org.testng.Assert.assertEquals;
+
+import edition.academy.seventh.database.connector.InMemoryH2Connector;
+import edition.academy.seventh.database.connector.TestPersistence;
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.database.model.PriceAtTheMomentDto;
+import edition.academy.seventh.model.Book;
+import edition.academy.seventh.model.BookId;
+import edition.academy.seventh.model.Bookstore;
+import edition.academy.seventh.model.BookstoreBook;
+import edition.academy.seventh.model.DailyPrice;
+import edition.academy.seventh.model.DailyPriceId;
+import edition.academy.seventh.model.PriceAtTheMoment;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class PriceHistoryMaintenanceTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+  private InMemoryH2Connector connector;
+  private BookRepository repository;
+  private PriceHistoryMaintenance maintenance;
+
+  @BeforeMethod
+  public void createMaintenance() {
+    connector = new InMemoryH2Connector("maintenance");
+    BookDtoParser bookDtoParser = new BookDtoParser(null);
+    repository =
+        new BookRepository(
+            bookDtoParser,
+            connector,
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector));
+    bookDtoParser.setRepository(repository);
+    Clock clock =
+        Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+    maintenance =
+        new PriceHistoryMaintenance(
+            TestPersistence.sharedEntityManager(connector),
+            TestPersistence.transactionManager(connector),
+            false,
+            3,
+            30,
+            clock);
+  }
+
+  @AfterMethod
+  public void closeConnector() {
+    connector.close();
+  }
+
+  public void should_rollUpPricesIntoDailyPrices_when_theyAreOlderThanRetention() {
+    // Given
+    repository.addBooksToDatabase(List.of(createBookDto("20.00")));
+    savePrice("20.00", LocalDateTime.of(2026, 8, 10, 10, 0));
+    savePrice("18.00", LocalDateTime.of(2026, 8, 10, 18, 0));
+    savePrice("19.00", LocalDateTime.of(2026, 9, 11, 12, 0));
+    savePrice("21.00", TODAY.minusDays(10).atStartOfDay());
+
+    // When
+    int created = maintenance.rollUp();
+
+    // Then
+    assertEquals(created, 2);
+    assertEquals(maintenance.rollUp(), 0);
+    DailyPrice dailyPrice = findDailyPrice(LocalDate.of(2026, 8, 10));
+    assertEquals(dailyPrice.getMinRetailPrice(), new BigDecimal("18.00"));
+    assertEquals(dailyPrice.getMaxRetailPrice(), new BigDecimal("20.00"));
+    assertEquals(dailyPrice.getRetailPrice(), new BigDecimal("18.00"));
+    List<PriceAtTheMomentDto> history =
+        repository.getBookstoreBookDtoByHref("href").getPriceAtTheMomentDtos();
+    assertEquals(
+        history.stream().map(PriceAtTheMomentDto::getDate).limit(2).collect(Collectors.toList()),
+        List.of(LocalDate.of(2026, 8, 10).atStartOfDay(), LocalDate.of(2026, 9, 11).atStartOfDay()));
+    assertEquals(
+        history.stream().map(PriceAtTheMomentDto::getRetailPrice).collect(Collectors.toList()),
+        List.of(new BigDecimal("18.00"), new BigDecimal("19.00"), new BigDecimal("21.00"),
+            new BigDecimal("20.00")));
+  }
+
+  public void should_restartIdSequence_when_pricesWereSavedWithDatabaseIds() {
+    // Given
+    saveBookstoreBook();
+    execute(
+        "INSERT INTO price_at_the_moment (id, bookstoreBook_id, retail_price, currency, date) "
+            + "VALUES (1, 'href', 19.00, 'zł', CURRENT_TIMESTAMP)");
+
+    // When
+    maintenance.prepare();
+    repository.addBooksToDatabase(List.of(createBookDto("18.00")));
+
+    // Then
+    assertEquals(
+        repository.getBookstoreBookDtoByHref("href").getPriceAtTheMomentDtos().stream()
+            .map(PriceAtTheMomentDto::getRetailPrice)
+            .collect(Collectors.toList()),
+        List.of(new BigDecimal("19.00"), new BigDecimal("18.00")));
+  }
+
+  private DailyPrice findDailyPrice(LocalDate date) {
+    EntityManager entityManager = connector.getEntityManager();
+    DailyPrice dailyPrice = entityManager.find(DailyPrice.class, new DailyPriceId("href", date));
+    entityManager.close();
+    return dailyPrice;
+  }
+
+  private void savePrice(String retailPrice, LocalDateTime date) {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    entityManager.persist(
+        new PriceAtTheMoment(entityManager.find(BookstoreBook.class, "href"),
+            new BigDecimal(retailPrice), null, "zł", date));
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private void saveBookstoreBook() {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    Book book = new Book(new BookId("Clean Code", "Robert C. Martin"), "");
+    Bookstore bookstore = new Bookstore("Empik");
+    entityManager.persist(book);
+    entityManager.persist(bookstore);
+    entityManager.persist(new BookstoreBook("href", "image", bookstore, book));
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private void execute(String statement) {
+    EntityManager entityManager = connector.getEntityManager();
+    entityManager.getTransaction().begin();
+    entityManager.createNativeQuery(statement).executeUpdate();
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  private BookDto createBookDto(String retailPrice) {
+    return new BookDto("Clean Code", "", "Robert C. Martin", "zł", new BigDecimal(retailPrice),
+        null, "image", "href", "Empik");
+  }
+}
@@ -0,0 +1,107 @@
+package edition.academy.seventh.service;
+
+import edition.academy.seventh.database.model.BookDto;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link AppendOnlyBuffer} with {@link CopyOnWriteArrayList} used previously by scrappers
+ * and {@link PromotionProviderManager}. Producers append pages of 30 books, as scrappers do.
+ *
+ * <p>Run with {@code main} method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AppendOnlyBufferBenchmark {
+
+  private static final int PAGE_SIZE = 30;
+
+  @Param({"10000", "100000"})
+  private int books;
+
+  @Param({"12"})
+  private int producers;
+
+  private List<BookDto> page;
+  private ExecutorService executorService;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(AppendOnlyBufferBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    page =
+        IntStream.range(0, PAGE_SIZE)
+            .mapToObj(
+                index ->
+                    new BookDto("Title " + index, "", "Author", "zł", BigDecimal.TEN,
+                        BigDecimal.ONE, "image", "href " + index, "Bookstore"))
+            .collect(Collectors.toList());
+    executorService = Executors.newFixedThreadPool(producers);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executorService.shutdown();
+  }
+
+  @Benchmark
+  public int copyOnWriteArrayList() throws InterruptedException {
+    List<BookDto> list = new CopyOnWriteArrayList<>();
+    appendConcurrently(list::addAll);
+    return list.size();
+  }
+
+  @Benchmark
+  public int appendOnlyBuffer() throws InterruptedException {
+    AppendOnlyBuffer<BookDto> buffer = new AppendOnlyBuffer<>();
+    appendConcurrently(buffer::addAll);
+    return buffer.drain().size();
+  }
+
+  private void appendConcurrently(Consumer<List<BookDto>> sink) throws InterruptedException {
+    int pagesPerProducer = books / PAGE_SIZE / producers;
+    List<Runnable> tasks =
+        IntStream.range(0, producers)
+            .<Runnable>mapToObj(
+                producer ->
+                    () -> {
+                      for (int i = 0; i < pagesPerProducer; i++) {
+                        sink.accept(page);
+                      }
+                    })
+            .collect(Collectors.toList());
+    executorService.invokeAll(
+        tasks.stream().map(Executors::callable).collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,58 @@
+package edition.academy.seventh.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+@Test
+public class AppendOnlyBufferTest {
+
+  public void should_keepEveryElement_when_manyThreadsAppendConcurrently()
+      throws InterruptedException {
+    // Given
+    AppendOnlyBuffer<Integer> buffer = new AppendOnlyBuffer<>();
+    ExecutorService executorService = Executors.newFixedThreadPool(12);
+    int producers = 12;
+    int chunksPerProducer = 100;
+    int chunkSize = 30;
+
+    // When
+    for (int producer = 0; producer < producers; producer++) {
+      executorService.submit(
+          () -> {
+            for (int chunk = 0; chunk < chunksPerProducer; chunk++) {
+              buffer.addAll(
+                  IntStream.range(0, chunkSize).boxed().collect(Collectors.toList()));
+            }
+          });
+    }
+    executorService.shutdown();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+    // Then
+    assertEquals(buffer.size(), producers * chunksPerProducer * chunkSize);
+    assertEquals(buffer.drain().size(), producers * chunksPerProducer * chunkSize);
+  }
+
+  public void should_beEmpty_when_drained() {
+    // Given
+    AppendOnlyBuffer<String> buffer = new AppendOnlyBuffer<>();
+    buffer.add("first");
+    buffer.addAll(List.of("second", "third"));
+
+    // When
+    List<String> drained = buffer.drain();
+
+    // Then
+    assertEquals(drained, List.of("first", "second", "third"));
+    assertEquals(buffer.size(), 0);
+    assertTrue(buffer.drain().isEmpty());
+  }
+}
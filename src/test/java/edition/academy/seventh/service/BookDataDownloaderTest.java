@@ -1,9 +1,23 @@
 package edition.academy.seventh.service;
 
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.BookstoreConnector.ResponseReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.mockito.stubbing.Answer;
+import org.springframework.web.client.RestClientException;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertEquals;
 
@@ -13,19 +27,151 @@ public class BookDataDownloaderTest {
   @Test(
       dataProviderClass = DataProviderForConvertingIsbnToBook.class,
       dataProvider = "dataProviderForConvertingIsbnToBook")
-  public void should_returnListOfBooksAsString_when_haveListOfIsbns(
-      List<String> isbns, List<String> expectedBooks) {
+  public void should_returnListOfBooks_when_haveListOfIsbns(String response, BookDto expectedBook) {
     // Given
     BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
-    when(bookstoreConnector.getJsonResponse(anyString())).thenReturn(isbns.get(0));
+    when(bookstoreConnector.getResponse(anyString(), any())).thenAnswer(respondWith(response));
+    BookDataDownloader bookDataDownloader = createBookDataDownloader(bookstoreConnector, 1000, 1);
 
+    // When
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(List.of("9781788476249"));
+
+    // Then
+    assertEquals(books, List.of(expectedBook));
+  }
+
+  public void should_retryFailedDownload_when_connectorThrowsException() {
+    // Given
+    BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
+    when(bookstoreConnector.getResponse(anyString(), any()))
+        .thenThrow(new RestClientException("Connection reset"))
+        .thenAnswer(respondWith("{\"price\":\"$1.00\"}"));
+    BookDataDownloader bookDataDownloader = createBookDataDownloader(bookstoreConnector, 1000, 1);
+
+    // When
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(List.of("1"));
+
+    // Then
+    assertEquals(books.size(), 1);
+    assertEquals(books.get(0).getRetailPrice(), new BigDecimal("1.00"));
+    verify(bookstoreConnector, times(2)).getResponse(anyString(), any());
+  }
+
+  public void should_skipBook_when_responseIsNotValidJson() {
+    // Given
+    BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
+    when(bookstoreConnector.getResponse(endsWith("broken"), any()))
+        .thenAnswer(respondWith("{\"title\":"));
+    when(bookstoreConnector.getResponse(endsWith("valid"), any()))
+        .thenAnswer(respondWith("{\"title\":\"valid\"}"));
+    BookDataDownloader bookDataDownloader = createBookDataDownloader(bookstoreConnector, 1000, 0);
+
+    // When
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(List.of("broken", "valid"));
+
+    // Then
+    assertEquals(books.size(), 1);
+    assertEquals(books.get(0).getTitle(), "valid");
+  }
+
+  public void should_skipBook_when_downloadTimesOutAfterRetries() {
+    // Given
+    BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
+    when(bookstoreConnector.getResponse(endsWith("slow"), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(500);
+              return respondWith("{\"title\":\"slow\"}").answer(invocation);
+            });
+    when(bookstoreConnector.getResponse(endsWith("fast"), any()))
+        .thenAnswer(respondWith("{\"title\":\"fast\"}"));
+    BookDataDownloader bookDataDownloader = createBookDataDownloader(bookstoreConnector, 100, 1);
+
+    // When
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(List.of("slow", "fast"));
+
+    // Then
+    assertEquals(books.size(), 1);
+    assertEquals(books.get(0).getTitle(), "fast");
+  }
+
+  public void should_passBooksInOrderOfCompletion_when_streamingBooks() {
+    // Given
+    BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
+    when(bookstoreConnector.getResponse(endsWith("slow"), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(200);
+              return respondWith("{\"title\":\"slow\"}").answer(invocation);
+            });
+    when(bookstoreConnector.getResponse(endsWith("fast"), any()))
+        .thenAnswer(respondWith("{\"title\":\"fast\"}"));
+    BookDataDownloader bookDataDownloader = createBookDataDownloader(bookstoreConnector, 1000, 0);
+    List<BookDto> books = new ArrayList<>();
+
+    // When
+    bookDataDownloader.streamBooksByIsbn(List.of("slow", "fast"), books::add);
+
+    // Then
+    assertEquals(books.size(), 2);
+    assertEquals(books.get(0).getTitle(), "fast");
+  }
+
+  public void should_downloadOnlyUncachedBooks_when_booksWereDownloadedBefore()
+      throws IOException {
+    // Given
+    BookstoreConnector bookstoreConnector = mock(BookstoreConnector.class);
+    when(bookstoreConnector.getResponse(anyString(), any()))
+        .thenAnswer(respondWith("{\"title\":\"downloaded\"}"));
+    BookDetailsCache bookDetailsCache =
+        new BookDetailsCache(
+            Files.createTempDirectory("itbook"), true, Duration.ofHours(1), 10,
+            Clock.systemUTC());
+    createBookDataDownloader(bookstoreConnector, bookDetailsCache, 1000, 0)
+        .listBooksByIsbn(List.of("1"));
     BookDataDownloader bookDataDownloader =
-        new BookDataDownloader("https://api.itbook.store/1.0/books/", bookstoreConnector);
+        createBookDataDownloader(bookstoreConnector, bookDetailsCache, 1000, 0);
 
     // When
-    List<String> books = bookDataDownloader.listBooksByIsbn(isbns);
+    List<BookDto> books = bookDataDownloader.listBooksByIsbn(List.of("1", "2"));
 
     // Then
-    assertEquals(books, expectedBooks);
+    assertEquals(books.size(), 2);
+    verify(bookstoreConnector, times(1)).getResponse(endsWith("1"), any());
+    verify(bookstoreConnector, times(1)).getResponse(endsWith("2"), any());
+    assertEquals(bookDetailsCache.getHits(), 1);
+    assertEquals(bookDetailsCache.getMisses(), 2);
+  }
+
+  private BookDataDownloader createBookDataDownloader(
+      BookstoreConnector bookstoreConnector, long timeoutMillis, int maxRetries) {
+    return createBookDataDownloader(
+        bookstoreConnector,
+        new BookDetailsCache(
+            Paths.get("itbook"), false, Duration.ofHours(1), 1, Clock.systemUTC()),
+        timeoutMillis,
+        maxRetries);
+  }
+
+  private BookDataDownloader createBookDataDownloader(
+      BookstoreConnector bookstoreConnector,
+      BookDetailsCache bookDetailsCache,
+      long timeoutMillis,
+      int maxRetries) {
+    return new BookDataDownloader(
+        "https://api.itbook.store/1.0/books/",
+        bookstoreConnector,
+        new JsonDataProcessor(),
+        bookDetailsCache,
+        4,
+        timeoutMillis,
+        maxRetries);
+  }
+
+  private static Answer<BookDto> respondWith(String response) {
+    return invocation -> {
+      ResponseReader<BookDto> reader = invocation.getArgument(1);
+      return reader.read(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+    };
   }
 }
@@ -0,0 +1,107 @@
+package edition.academy.seventh.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+import org.testng.annotations.Test;
+
+@Test
+public class BookDetailsCacheTest {
+
+  private static final Instant NOW = Instant.parse("2019-10-01T12:00:00Z");
+
+  public void should_returnStoredBook_when_cacheIsCreatedAgain() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("itbook");
+    createCache(directory, NOW, 10).put("9781788476249", bytes("{\"title\":\"C++\"}"));
+
+    // When
+    BookDetailsCache cache = createCache(directory, NOW.plusSeconds(60), 10);
+
+    // Then
+    assertEquals(
+        new String(cache.get("9781788476249").orElseThrow(), StandardCharsets.UTF_8),
+        "{\"title\":\"C++\"}");
+    assertEquals(cache.getHits(), 1);
+    assertEquals(cache.getMisses(), 0);
+  }
+
+  public void should_countMissAndRemoveEntry_when_entryExpired() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("itbook");
+    createCache(directory, NOW, 10).put("9781788476249", bytes("{}"));
+    BookDetailsCache cache = createCache(directory, NOW.plus(Duration.ofHours(25)), 10);
+
+    // When
+    boolean found = cache.get("9781788476249").isPresent();
+
+    // Then
+    assertFalse(found);
+    assertEquals(cache.getMisses(), 1);
+    assertFalse(Files.exists(directory.resolve("9781788476249.json")));
+  }
+
+  public void should_evictOldestEntries_when_limitIsExceeded() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("itbook");
+    createCache(directory, NOW, 2).put("1", bytes("{}"));
+    createCache(directory, NOW.plusSeconds(1), 2).put("2", bytes("{}"));
+    BookDetailsCache cache = createCache(directory, NOW.plusSeconds(2), 2);
+
+    // When
+    cache.put("3", bytes("{}"));
+
+    // Then
+    assertFalse(cache.get("1").isPresent());
+    assertTrue(cache.get("2").isPresent());
+    assertTrue(cache.get("3").isPresent());
+  }
+
+  public void should_neitherStoreNorReturnBooks_when_cacheIsDisabled() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("itbook");
+    BookDetailsCache cache =
+        new BookDetailsCache(directory, false, Duration.ofHours(24), 10, Clock.systemUTC());
+
+    // When
+    cache.put("1", bytes("{}"));
+
+    // Then
+    assertFalse(cache.get("1").isPresent());
+    assertFalse(Files.exists(directory.resolve("1.json")));
+  }
+
+  public void should_removeTemporaryFile_when_entryCanNotBeStored() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("itbook");
+    Files.createDirectories(directory.resolve("1.json").resolve("occupied"));
+    BookDetailsCache cache = createCache(directory, NOW, 10);
+
+    // When
+    cache.put("1", bytes("{}"));
+
+    // Then
+    try (Stream<Path> files = Files.list(directory)) {
+      assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+    }
+  }
+
+  private BookDetailsCache createCache(Path directory, Instant now, int maxEntries) {
+    return new BookDetailsCache(
+        directory, true, Duration.ofHours(24), maxEntries, Clock.fixed(now, ZoneOffset.UTC));
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -6,8 +6,14 @@
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -25,12 +31,13 @@ public static Object[][] dataProviderForJSONMapping() {
       {bookList.get(0).getRetailPrice().toString(), "8.99"},
       {bookList.get(0).getImageLink(), "https://itbook.store/img/books/9780321832740.png"},
       {bookList.get(0).getHref(), "https://itbook.store/books/9780321832740"},
-      {bookList.get(0).getBookstore(), "ITBookstore"}
+      {bookList.get(0).getBookstore(), "ITBookstore"},
+      {bookList.get(0).getCurrency(), "$"}
     };
   }
 
   @BeforeTest
-  public void prepareListOfBooks() {
+  public void prepareListOfBooks() throws IOException {
     BookstoreConnectionService bookstoreConnectionService =
         mock(ItbookBookstoreConnectionService.class);
     ItBookMapper itBookMapper = new ItBookMapper(bookstoreConnectionService);
@@ -39,12 +46,23 @@ public void prepareListOfBooks() {
             + " \"title\": \"Learning JavaScript\",\n"
             + " \"subtitle\": \"A Hands-On Guide to the Fundamentals of Modern JavaScript\",\n"
             + " \"authors\": \"Tim Wright\",\n"
-            + " \"price\": \"8.99\",\n"
+            + " \"price\": \"$8.99\",\n"
             + " \"image\": \"https://itbook.store/img/books/9780321832740.png\",\n"
             + " \"url\": \"https://itbook.store/books/9780321832740\"\n"
             + "}";
-    List<String> partialBook = List.of(bookJSON);
-    when(bookstoreConnectionService.getListOfBooksAsString()).thenReturn(partialBook);
+    List<BookDto> partialBook =
+        List.of(
+            new JsonDataProcessor()
+                .readBook(new ByteArrayInputStream(bookJSON.getBytes(StandardCharsets.UTF_8))));
+    when(bookstoreConnectionService.getListOfBooks()).thenReturn(partialBook);
+    doAnswer(
+            invocation -> {
+              Consumer<BookDto> bookConsumer = invocation.getArgument(0);
+              partialBook.forEach(bookConsumer);
+              return null;
+            })
+        .when(bookstoreConnectionService)
+        .streamBooks(any());
     bookList = itBookMapper.getPromotions();
   }
 
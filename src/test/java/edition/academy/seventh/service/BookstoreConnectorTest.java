@@ -0,0 +1,132 @@
+package edition.academy.seventh.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test
+public class BookstoreConnectorTest {
+
+  private static final String BOOKS = "{\"books\":[{\"isbn13\":\"9781617294136\"}]}";
+
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+  private HttpServer server;
+  private String baseUrl;
+
+  @BeforeClass
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/gzip",
+        exchange -> {
+          clientPorts.add(exchange.getRemoteAddress().getPort());
+          String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+          byte[] body = BOOKS.getBytes(StandardCharsets.UTF_8);
+          if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = gzip(body);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          }
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    server.createContext(
+        "/missing",
+        exchange -> {
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @AfterClass
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  public void should_reuseSingleConnection_when_sendingConsecutiveRequests() {
+    // Given
+    clientPorts.clear();
+    BookstoreConnectorConfiguration configuration = new BookstoreConnectorConfiguration();
+    PoolingHttpClientConnectionManager connectionManager =
+        configuration.bookstoreConnectionManager(2, 2);
+    BookstoreConnector bookstoreConnector =
+        createBookstoreConnector(configuration, connectionManager);
+
+    // When
+    String firstResponse = bookstoreConnector.getJsonResponse(baseUrl + "/gzip");
+    String secondResponse = bookstoreConnector.getJsonResponse(baseUrl + "/gzip");
+    String thirdResponse = bookstoreConnector.getJsonResponse(baseUrl + "/gzip");
+
+    // Then
+    assertEquals(firstResponse, BOOKS);
+    assertEquals(secondResponse, BOOKS);
+    assertEquals(thirdResponse, BOOKS);
+    assertEquals(clientPorts.size(), 1);
+    assertEquals(connectionManager.getTotalStats().getAvailable(), 1);
+    assertEquals(connectionManager.getTotalStats().getLeased(), 0);
+    connectionManager.close();
+  }
+
+  public void should_recordLatencyAndFailures_when_requestsAreSent() {
+    // Given
+    BookstoreConnectorConfiguration configuration = new BookstoreConnectorConfiguration();
+    PoolingHttpClientConnectionManager connectionManager =
+        configuration.bookstoreConnectionManager(2, 2);
+    BookstoreConnector bookstoreConnector =
+        createBookstoreConnector(configuration, connectionManager);
+
+    // When
+    bookstoreConnector.getJsonResponse(baseUrl + "/gzip");
+    try {
+      bookstoreConnector.getJsonResponse(baseUrl + "/missing");
+    } catch (HttpClientErrorException ignored) {
+      // expected, counted as failure
+    }
+    BookstoreConnectorMetrics metrics = bookstoreConnector.getMetrics();
+
+    // Then
+    assertEquals(metrics.getRequests(), 2);
+    assertEquals(metrics.getFailures(), 1);
+    assertTrue(metrics.getMeanLatencyMillis() > 0);
+    assertTrue(metrics.getMaxLatencyMillis() >= metrics.getMeanLatencyMillis() - 1);
+    assertEquals(metrics.getPoolStats().getMax(), 2);
+    connectionManager.close();
+  }
+
+  private BookstoreConnector createBookstoreConnector(
+      BookstoreConnectorConfiguration configuration,
+      PoolingHttpClientConnectionManager connectionManager) {
+    BookstoreConnectorMetrics metrics = new BookstoreConnectorMetrics(connectionManager);
+    CloseableHttpClient httpClient =
+        configuration.bookstoreHttpClient(connectionManager, 1000, 1000, 1000, 30000);
+    return new BookstoreConnector(
+        configuration.bookstoreRestTemplate(httpClient, metrics), metrics);
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(content);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -1,5 +1,6 @@
 package edition.academy.seventh.service;
 
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertNotNull;
@@ -11,7 +12,16 @@ public class BookstoreConnectorTestIT {
       dataProvider = "dataProviderForJsonResponse")
   public void should_returnJsonWithBooksString_when_givenProperUrl(String url) {
     // Given
-    BookstoreConnector bookstoreConnector = new BookstoreConnector();
+    BookstoreConnectorConfiguration configuration = new BookstoreConnectorConfiguration();
+    PoolingHttpClientConnectionManager connectionManager =
+        configuration.bookstoreConnectionManager(20, 10);
+    BookstoreConnectorMetrics metrics = new BookstoreConnectorMetrics(connectionManager);
+    BookstoreConnector bookstoreConnector =
+        new BookstoreConnector(
+            configuration.bookstoreRestTemplate(
+                configuration.bookstoreHttpClient(connectionManager, 5000, 10000, 5000, 30000),
+                metrics),
+            metrics);
 
     // When
     String jsonResponse = bookstoreConnector.getJsonResponse(url);
@@ -0,0 +1,77 @@
+package edition.academy.seventh.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares extraction of ISBNs from ITBook's list of new books with streaming {@link
+ * JsonDataProcessor#readIsbns} against tree model, built by new {@link ObjectMapper} per call as
+ * previously, and by shared one. Response comes from saved list of 20 books.
+ *
+ * <p>Run with {@code main} method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IsbnExtractionBenchmark {
+
+  private final ObjectMapper sharedMapper = new ObjectMapper();
+  private final JsonDataProcessor jsonDataProcessor = new JsonDataProcessor();
+  private byte[] response;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(IsbnExtractionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup
+  public void loadResponse() throws IOException {
+    response = JsonDataProcessorTest.loadNewBooks();
+  }
+
+  @Benchmark
+  public List<String> treeModelWithNewMapper() throws IOException {
+    String json = new String(response, StandardCharsets.UTF_8);
+    return isbnsOf(new ObjectMapper().readValue(json, JsonNode.class));
+  }
+
+  @Benchmark
+  public List<String> treeModelWithSharedMapper() throws IOException {
+    return isbnsOf(sharedMapper.readTree(new ByteArrayInputStream(response)));
+  }
+
+  @Benchmark
+  public List<String> streamingParser() throws IOException {
+    return jsonDataProcessor.readIsbns(new ByteArrayInputStream(response));
+  }
+
+  private static List<String> isbnsOf(JsonNode jsonNode) {
+    List<String> isbns = new ArrayList<>();
+    for (JsonNode node : jsonNode.get("books")) {
+      isbns.add(node.get("isbn13").asText());
+    }
+    return isbns;
+  }
+}
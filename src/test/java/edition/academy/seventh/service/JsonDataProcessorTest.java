@@ -0,0 +1,66 @@
+package edition.academy.seventh.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.testng.annotations.Test;
+
+@Test
+public class JsonDataProcessorTest {
+
+  static byte[] loadNewBooks() throws IOException {
+    try (InputStream json =
+        JsonDataProcessorTest.class.getResourceAsStream("/itbook/new-books.json")) {
+      return json.readAllBytes();
+    }
+  }
+
+  public void should_readIsbnsOfAllBooks_when_givenResponseOfNewBooks() throws IOException {
+    // Given
+    JsonDataProcessor jsonDataProcessor = new JsonDataProcessor();
+
+    // When
+    List<String> isbns = jsonDataProcessor.readIsbns(new ByteArrayInputStream(loadNewBooks()));
+
+    // Then
+    assertEquals(isbns.size(), 20);
+    assertEquals(isbns.get(0), "9784942859575");
+  }
+
+  public void should_skipNestedValues_when_booksHaveOtherFields() throws IOException {
+    // Given
+    String json =
+        "{\"total\":\"2\",\"meta\":{\"isbn13\":\"0\"},\"books\":[{\"tags\":[{\"isbn13\":\"1\"}],"
+            + "\"isbn13\":\"9781617294136\",\"price\":\"$1\"},{\"isbn13\":9781484206485}],"
+            + "\"page\":\"1\"}";
+
+    // When
+    List<String> isbns = new JsonDataProcessor().readIsbns(stream(json));
+
+    // Then
+    assertEquals(isbns, List.of("9781617294136", "9781484206485"));
+  }
+
+  public void should_returnNoIsbns_when_responseHasNoBooks() throws IOException {
+    // When
+    List<String> isbns = new JsonDataProcessor().readIsbns(stream("{\"error\":\"0\"}"));
+
+    // Then
+    assertTrue(isbns.isEmpty());
+  }
+
+  @Test(expectedExceptions = JsonProcessingException.class)
+  public void should_throwException_when_responseIsTruncated() throws IOException {
+    new JsonDataProcessor().readIsbns(stream("{\"books\":[{\"isbn13\":\"1\"},"));
+  }
+
+  private static InputStream stream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,179 @@
+package edition.academy.seventh.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.model.BookDto;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+@Test
+public class PromotionPipelineTest {
+
+  public void should_saveEveryScrappedPage_when_providersStreamBooks()
+      throws ProvidersNotFoundException {
+    // Given
+    PromotionProviderManager providerManager = mock(PromotionProviderManager.class);
+    BookService bookService = mock(BookService.class);
+    List<BookDto> firstPage = List.of(mock(BookDto.class));
+    List<BookDto> secondPage = List.of(mock(BookDto.class), mock(BookDto.class));
+    doAnswer(
+            invocation -> {
+              ScrappedBooksConsumer consumer = invocation.getArgument(0);
+              consumer.accept(firstPage);
+              consumer.accept(List.of());
+              consumer.accept(secondPage);
+              return null;
+            })
+        .when(providerManager)
+        .streamScrappedBooks(any());
+
+    PromotionPipeline pipeline = new PromotionPipeline(providerManager, bookService, 1);
+
+    // When
+    pipeline.run();
+
+    // Then
+    verify(bookService, times(1)).addBooksToDatabase(firstPage);
+    verify(bookService, times(1)).addBooksToDatabase(secondPage);
+    verify(bookService, never()).addBooksToDatabase(List.of());
+  }
+
+  public void should_confirmOnlySavedPages_when_savingSomeBooksFails()
+      throws ProvidersNotFoundException {
+    // Given
+    PromotionProviderManager providerManager = mock(PromotionProviderManager.class);
+    BookService bookService = mock(BookService.class);
+    List<BookDto> savedPage = List.of(mock(BookDto.class));
+    List<BookDto> failedPage = List.of(mock(BookDto.class), mock(BookDto.class));
+    when(bookService.addBooksToDatabase(savedPage)).thenReturn(1);
+    when(bookService.addBooksToDatabase(failedPage)).thenReturn(1);
+    AtomicInteger savedPageConfirmations = new AtomicInteger();
+    AtomicInteger failedPageConfirmations = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              ScrappedBooksConsumer consumer = invocation.getArgument(0);
+              consumer.accept(savedPage, savedPageConfirmations::incrementAndGet);
+              consumer.accept(failedPage, failedPageConfirmations::incrementAndGet);
+              return null;
+            })
+        .when(providerManager)
+        .streamScrappedBooks(any());
+    PromotionPipeline pipeline = new PromotionPipeline(providerManager, bookService, 1);
+
+    // When
+    pipeline.run();
+
+    // Then
+    assertEquals(savedPageConfirmations.get(), 1);
+    assertEquals(failedPageConfirmations.get(), 0);
+  }
+
+  public void should_saveNextPages_when_confirmingSavedPageFails()
+      throws ProvidersNotFoundException {
+    // Given
+    PromotionProviderManager providerManager = mock(PromotionProviderManager.class);
+    BookService bookService = mock(BookService.class);
+    List<BookDto> firstPage = List.of(mock(BookDto.class));
+    List<BookDto> secondPage = List.of(mock(BookDto.class));
+    when(bookService.addBooksToDatabase(any())).thenReturn(1);
+    AtomicInteger confirmations = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              ScrappedBooksConsumer consumer = invocation.getArgument(0);
+              consumer.accept(
+                  firstPage,
+                  () -> {
+                    throw new IllegalStateException("Page cache unavailable");
+                  });
+              consumer.accept(secondPage, confirmations::incrementAndGet);
+              return null;
+            })
+        .when(providerManager)
+        .streamScrappedBooks(any());
+    PromotionPipeline pipeline = new PromotionPipeline(providerManager, bookService, 1);
+
+    // When
+    pipeline.run();
+
+    // Then
+    verify(bookService, times(1)).addBooksToDatabase(secondPage);
+    assertEquals(confirmations.get(), 1);
+  }
+
+  public void should_markOffersAsSeen_when_pageIsUnchanged() throws ProvidersNotFoundException {
+    // Given
+    PromotionProviderManager providerManager = mock(PromotionProviderManager.class);
+    BookService bookService = mock(BookService.class);
+    doAnswer(
+            invocation -> {
+              ScrappedBooksConsumer consumer = invocation.getArgument(0);
+              consumer.pageUnchanged("page1", List.of("href1", "href2"));
+              consumer.pageUnchanged("page2", List.of());
+              return null;
+            })
+        .when(providerManager)
+        .streamScrappedBooks(any());
+    PromotionPipeline pipeline = new PromotionPipeline(providerManager, bookService, 1);
+
+    // When
+    pipeline.run();
+
+    // Then
+    verify(bookService, times(1)).markOffersAsSeen(List.of("href1", "href2"));
+    verify(bookService, never()).markOffersAsSeen(List.of());
+    verify(bookService, never()).addBooksToDatabase(any());
+  }
+
+  public void should_stopWriter_when_runIsInterrupted() throws Exception {
+    // Given
+    PromotionProviderManager providerManager = mock(PromotionProviderManager.class);
+    BookService bookService = mock(BookService.class);
+    doAnswer(
+            invocation -> {
+              Thread.currentThread().interrupt();
+              return null;
+            })
+        .when(providerManager)
+        .streamScrappedBooks(any());
+    PromotionPipeline pipeline = new PromotionPipeline(providerManager, bookService, 1);
+
+    // When
+    Thread run =
+        new Thread(
+            () -> {
+              try {
+                pipeline.run();
+              } catch (ProvidersNotFoundException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    run.start();
+    run.join(5000);
+
+    // Then
+    Thread writer = findThread("books-writer");
+    if (writer != null) {
+      writer.join(5000);
+    }
+    assertFalse(run.isAlive());
+    assertTrue(writer == null || !writer.isAlive());
+  }
+
+  private Thread findThread(String name) {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().equals(name))
+        .findFirst()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,124 @@
+package edition.academy.seventh.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.Test;
+
+@Test
+public class ScrappingSchedulerTest {
+
+  public void should_nameThreadAfterBookstore_when_pageIsScrapped()
+      throws ExecutionException, InterruptedException {
+    // Given
+    ScrappingScheduler scheduler = new ScrappingScheduler(2, 2, false);
+    AtomicReference<String> threadName = new AtomicReference<>();
+
+    // When
+    scheduler.submitPage("EMPIK", () -> threadName.set(Thread.currentThread().getName())).get();
+    scheduler.destroy();
+
+    // Then
+    assertTrue(threadName.get().startsWith("scrapper-EMPIK"));
+  }
+
+  public void should_notExceedParallelism_when_manyPagesAreSubmitted()
+      throws ExecutionException, InterruptedException {
+    // Given
+    int parallelism = 3;
+    ScrappingScheduler scheduler = new ScrappingScheduler(parallelism, parallelism, false);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < 30; i++) {
+      futures.add(
+          scheduler.submitPage(
+              "PWN",
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    scheduler.destroy();
+
+    // Then
+    assertTrue(maxRunning.get() <= parallelism);
+    assertEquals(running.get(), 0);
+  }
+
+  public void should_scrapOtherBookstore_when_pagesOfOneBookstoreWait()
+      throws ExecutionException, InterruptedException, TimeoutException {
+    // Given
+    ScrappingScheduler scheduler = new ScrappingScheduler(4, 2, false);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(
+          scheduler.submitPage(
+              "EMPIK",
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+              }));
+    }
+
+    // When
+    scheduler.submitPage("PWN", () -> {}).get(5, TimeUnit.SECONDS);
+    release.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    scheduler.destroy();
+
+    // Then
+    assertEquals(maxRunning.get(), 2);
+  }
+
+  public void should_cancelPage_when_schedulerIsShutDown() {
+    // Given
+    ScrappingScheduler scheduler = new ScrappingScheduler(2, 1, false);
+    scheduler.destroy();
+
+    // When
+    Future<?> first = scheduler.submitPage("EMPIK", () -> {});
+    Future<?> second = scheduler.submitPage("EMPIK", () -> {});
+
+    // Then
+    assertTrue(first.isCancelled());
+    assertTrue(second.isCancelled());
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.ScrappingScheduler;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import org.jsoup.Jsoup;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class DefinedScrapperTest {
+
+  private static final String URL = "https://bookstore.pl/promotions?page=";
+
+  private final ScrappingScheduler scrappingScheduler = new ScrappingScheduler(4, 4, false);
+
+  @AfterClass
+  public void shutDownScheduler() {
+    scrappingScheduler.destroy();
+  }
+
+  public void should_mapEveryTileToBook_when_scrappingSavedEmpikPage() throws IOException {
+    // Given
+    ScrapperDefinition definition = new ScrapperDefinitionLoader("").load().get("empik");
+    DefinedScrapper scrapper = new DefinedScrapper(definition, null, mock(PageFetcher.class));
+
+    // When
+    List<BookDto> books = scrapper.mappingToBookList(ProductSelectorsTest.loadEmpikTiles());
+
+    // Then
+    BookDto book = books.get(0);
+    assertEquals(books.size(), 30);
+    assertEquals(book.getTitle(), "Pan Tadeusz");
+    assertEquals(book.getAuthors(), "Adam Mickiewicz");
+    assertEquals(book.getHref(), "https://www.empik.com/pan-tadeusz,p1000,ksiazka-p");
+    assertEquals(book.getImageLink(), "https://ecsmedia.pl/c/p1000-b-iext.jpg");
+    assertEquals(book.getRetailPrice(), new BigDecimal("46.52"));
+    assertEquals(book.getPromotionalPrice(), new BigDecimal("32.56"));
+    assertEquals(book.getCurrency(), "zł");
+    assertEquals(book.getBookstore(), "EMPIK");
+  }
+
+  public void should_splitUrlTemplate_when_pageIsInTheMiddle() {
+    // Given
+    ScrapperDefinition definition = new ScrapperDefinitionLoader("").load().get("swiatKsiazki");
+
+    // When
+    DefinedScrapper scrapper = new DefinedScrapper(definition, null, mock(PageFetcher.class));
+
+    // Then
+    assertEquals(scrapper.startOfUrl, "https://www.swiatksiazki.pl/Ksiazki/outlet-3255.html?p=");
+    assertEquals(scrapper.endOfUrl, "&product_list_limit=30&product_list_mode=grid");
+  }
+
+  public void should_crawlUntilEmptyPage_when_lastPageIsNotDefined()
+      throws IOException, InterruptedException {
+    // Given
+    DefinedScrapper scrapper =
+        createCrawlingScrapper(page -> page <= 5 ? createPage(page, page + 100) : createPage());
+
+    // When
+    int pages = scrapper.crawl(1, 1, 3, 50);
+    List<BookDto> books = scrapper.listOfBooks.drain();
+
+    // Then
+    assertEquals(pages, 5);
+    assertEquals(books.size(), 10);
+  }
+
+  public void should_stopCrawling_when_pageContainsOnlyDuplicatedBooks()
+      throws IOException, InterruptedException {
+    // Given
+    DefinedScrapper scrapper =
+        createCrawlingScrapper(page -> createPage(Math.min(page, 3), Math.min(page, 3) + 100));
+
+    // When
+    int pages = scrapper.crawl(1, 1, 2, 50);
+    List<BookDto> books = scrapper.listOfBooks.drain();
+
+    // Then
+    assertEquals(pages, 3);
+    assertEquals(books.size(), 6);
+  }
+
+  public void should_stopCrawling_when_maxPagesAreScrapped()
+      throws IOException, InterruptedException {
+    // Given
+    DefinedScrapper scrapper = createCrawlingScrapper(page -> createPage(page, page + 100));
+
+    // When
+    int pages = scrapper.crawl(1, 1, 4, 7);
+
+    // Then
+    assertEquals(pages, 7);
+  }
+
+  public void should_cancelSlowPages_when_scrappingTimesOut()
+      throws IOException, InterruptedException {
+    // Given
+    DefinedScrapper scrapper =
+        createScrapper(
+            definition -> {
+              definition.getPages().setLast(3);
+              definition.setTimeoutMillis(300);
+            },
+            page -> {
+              if (page == 2) {
+                sleep(5000);
+              }
+              return createPage(page, page + 100);
+            });
+    List<BookDto> streamedBooks = new CopyOnWriteArrayList<>();
+
+    // When
+    long start = System.nanoTime();
+    scrapper.streamPromotions(streamedBooks::addAll);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    Thread.sleep(500);
+
+    // Then
+    assertTrue(elapsedMillis < 4000, "Elapsed " + elapsedMillis + " ms");
+    assertEquals(streamedBooks.size(), 6);
+    assertTrue(scrapper.listOfBooks.drain().isEmpty());
+    assertEquals(scrapper.phaser.getRegisteredParties(), 1);
+    assertEquals(scrapper.phaser.getUnarrivedParties(), 1);
+  }
+
+  private DefinedScrapper createCrawlingScrapper(IntFunction<String> pages)
+      throws IOException, InterruptedException {
+    return createScrapper(definition -> {}, pages);
+  }
+
+  private DefinedScrapper createScrapper(
+      Consumer<ScrapperDefinition> configuration, IntFunction<String> pages)
+      throws IOException, InterruptedException {
+    ScrapperDefinition definition = new ScrapperDefinitionLoader("").load().get("pwn");
+    definition.setUrlTemplate(URL + ScrapperDefinition.PAGE_PLACEHOLDER);
+    definition.setProductClass("product");
+    definition.getFields().values().forEach(field -> field.setPrefix(""));
+    definition.getFields().get("href").setSelector("a");
+    configuration.accept(definition);
+
+    PageFetcher pageFetcher = mock(PageFetcher.class);
+    when(pageFetcher.fetch(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String url = invocation.getArgument(0);
+              int page = Integer.parseInt(url.substring(URL.length()));
+              return FetchedPage.modified(url, Jsoup.parse(pages.apply(page)), null, null);
+            });
+    return new DefinedScrapper(definition, scrappingScheduler, pageFetcher);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String createPage(int... products) {
+    StringBuilder page = new StringBuilder("<html><body>");
+    for (int product : products) {
+      page.append("<div class=\"product\"><a href=\"/book/")
+          .append(product)
+          .append("\">Book</a></div>");
+    }
+    return page.append("</body></html>").toString();
+  }
+}
@@ -0,0 +1,42 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.testng.Assert.assertTrue;
+
+import edition.academy.seventh.database.model.BookDto;
+import edition.academy.seventh.service.PromotionProvider;
+import edition.academy.seventh.service.ScrappingScheduler;
+import java.util.List;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test
+public class DefinedScrapperTestIT {
+
+  @DataProvider
+  public static Object[][] bookstores() {
+    return new ScrapperDefinitionLoader("")
+        .load().values().stream()
+            .map(definition -> new Object[] {definition})
+            .toArray(Object[][]::new);
+  }
+
+  @Test(dataProvider = "bookstores")
+  public void should_scrapAtLeastOneBook_forGivenUrl(ScrapperDefinition definition) {
+    // Given
+    PromotionProvider promotionScrapping =
+        new DefinedScrapper(
+            definition,
+            new ScrappingScheduler(10, 3, false),
+            new PageFetcher(
+                5000,
+                15000,
+                new PageCache(".robot-cache/pages", false),
+                new HostRateLimiters(2, 3, 3, 60)));
+
+    // When
+    List<BookDto> books = promotionScrapping.getPromotions();
+
+    // Then
+    assertTrue(books.size() > 0);
+  }
+}
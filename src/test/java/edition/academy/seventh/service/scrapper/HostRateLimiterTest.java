@@ -0,0 +1,79 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+@Test
+public class HostRateLimiterTest {
+
+  private static final Duration MAX_PAUSE = Duration.ofMinutes(1);
+
+  public void should_spreadRequestsEvenly_when_burstIsUsed() throws InterruptedException {
+    // Given
+    HostRateLimiter rateLimiter = new HostRateLimiter(20, 2, MAX_PAUSE);
+    long start = System.nanoTime();
+
+    // When
+    for (int i = 0; i < 6; i++) {
+      rateLimiter.acquire();
+    }
+
+    // Then
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMillis >= 190, "Elapsed " + elapsedMillis + " ms");
+  }
+
+  public void should_pauseRequests_when_hostThrottlesThem() throws InterruptedException {
+    // Given
+    HostRateLimiter rateLimiter = new HostRateLimiter(1000, 10, MAX_PAUSE);
+    long start = System.nanoTime();
+
+    // When
+    rateLimiter.onThrottled(Duration.ofMillis(300));
+    rateLimiter.acquire();
+
+    // Then
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMillis >= 290, "Elapsed " + elapsedMillis + " ms");
+  }
+
+  public void should_limitPause_when_retryAfterExceedsMaximum() throws InterruptedException {
+    // Given
+    HostRateLimiter rateLimiter = new HostRateLimiter(1000, 10, Duration.ofMillis(100));
+    long start = System.nanoTime();
+
+    // When
+    rateLimiter.onThrottled(Duration.ofHours(1));
+    rateLimiter.acquire();
+
+    // Then
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMillis >= 90 && elapsedMillis < 5000, "Elapsed " + elapsedMillis + " ms");
+  }
+
+  public void should_halveAndRecoverRate_when_hostThrottlesAndThenResponds() {
+    // Given
+    HostRateLimiter rateLimiter = new HostRateLimiter(10, 1, MAX_PAUSE);
+
+    // When
+    rateLimiter.onThrottled(Duration.ZERO);
+    double throttledRate = rateLimiter.getCurrentRate();
+    for (int i = 0; i < 20; i++) {
+      rateLimiter.onSuccess();
+    }
+
+    // Then
+    assertEquals(throttledRate, 5.0);
+    assertEquals(rateLimiter.getCurrentRate(), 10.0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void should_throwException_when_rateIsNotPositive() {
+    // When
+    new HostRateLimiter(0, 1, MAX_PAUSE);
+  }
+}
@@ -0,0 +1,250 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import org.jsoup.HttpStatusException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test
+public class PageFetcherTest {
+
+  private static final String PAGE =
+      "<html><body><div class=\"product\">Książka</div></body></html>";
+  private static final String ETAG = "\"page-1\"";
+
+  private HttpServer server;
+  private String baseUrl;
+
+  @BeforeClass
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/gzip",
+        exchange -> {
+          byte[] body = gzip(PAGE.getBytes(StandardCharsets.UTF_8));
+          exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    server.createContext(
+        "/etag",
+        exchange -> {
+          if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("ETag", ETAG);
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    server.createContext(
+        "/gzip-etag",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body = gzip(PAGE.getBytes(StandardCharsets.UTF_8));
+          exchange.getResponseHeaders().add("ETag", ETAG);
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    AtomicInteger throttledRequests = new AtomicInteger();
+    server.createContext(
+        "/throttled",
+        exchange -> {
+          if (throttledRequests.getAndIncrement() == 0) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    server.createContext(
+        "/unavailable",
+        exchange -> {
+          exchange.sendResponseHeaders(503, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/missing",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/stalled",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 1000);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write("<html><body>".getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            TimeUnit.SECONDS.sleep(3);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @AfterClass
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  public void should_decodeGzippedPage_when_serverCompressesResponse()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+
+    // When
+    FetchedPage page = pageFetcher.fetch(baseUrl + "/gzip");
+
+    // Then
+    assertEquals(page.getDocument().getElementsByClass("product").text(), "Książka");
+  }
+
+  public void should_returnNotModifiedPage_when_serverMatchesCachedEtag()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+    FetchedPage firstPage = pageFetcher.fetch(baseUrl + "/etag");
+    pageFetcher.remember(firstPage, PageCache.hash(PAGE), List.of());
+
+    // When
+    FetchedPage secondPage = pageFetcher.fetch(baseUrl + "/etag");
+
+    // Then
+    assertFalse(firstPage.isNotModified());
+    assertTrue(secondPage.isNotModified());
+  }
+
+  public void should_returnNotModifiedPage_when_emptyResponseDeclaresGzipEncoding()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+    FetchedPage firstPage = pageFetcher.fetch(baseUrl + "/gzip-etag");
+    pageFetcher.remember(firstPage, PageCache.hash(PAGE), List.of());
+
+    // When
+    FetchedPage secondPage = pageFetcher.fetch(baseUrl + "/gzip-etag");
+
+    // Then
+    assertEquals(firstPage.getDocument().getElementsByClass("product").text(), "Książka");
+    assertTrue(secondPage.isNotModified());
+  }
+
+  public void should_recognizeUnchangedContent_when_hashIsTheSameAsCachedOne()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+    FetchedPage page = pageFetcher.fetch(baseUrl + "/gzip");
+
+    // When
+    pageFetcher.remember(page, PageCache.hash(PAGE), List.of("/book/1", "/book/2"));
+
+    // Then
+    assertTrue(pageFetcher.isUnchanged(page, PageCache.hash(PAGE)));
+    assertFalse(pageFetcher.isUnchanged(page, PageCache.hash("changed")));
+    assertEquals(pageFetcher.getCachedHrefs(baseUrl + "/gzip"), List.of("/book/1", "/book/2"));
+  }
+
+  @Test(expectedExceptions = HttpStatusException.class)
+  public void should_throwException_when_serverRespondsWithError()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+
+    // When
+    pageFetcher.fetch(baseUrl + "/missing");
+  }
+
+  public void should_retryAfterGivenTime_when_serverThrottlesRequest()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+    long start = System.nanoTime();
+
+    // When
+    FetchedPage page = pageFetcher.fetch(baseUrl + "/throttled");
+
+    // Then
+    assertEquals(page.getDocument().getElementsByClass("product").text(), "Książka");
+    assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test(expectedExceptions = HttpTimeoutException.class, timeOut = 2500)
+  public void should_throwException_when_serverStallsInTheMiddleOfResponse()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher = createPageFetcher();
+
+    // When
+    pageFetcher.fetch(baseUrl + "/stalled");
+  }
+
+  @Test(expectedExceptions = HttpStatusException.class)
+  public void should_throwException_when_serverIsUnavailableAfterRetries()
+      throws IOException, InterruptedException {
+    // Given
+    PageFetcher pageFetcher =
+        new PageFetcher(
+            1000,
+            1000,
+            new PageCache(Files.createTempDirectory("pages").toString(), true),
+            new HostRateLimiters(1000, 10, 0, 60));
+
+    // When
+    pageFetcher.fetch(baseUrl + "/unavailable");
+  }
+
+  private static PageFetcher createPageFetcher() throws IOException {
+    String cacheDirectory = Files.createTempDirectory("pages").toString();
+    return new PageFetcher(
+        1000, 1000, new PageCache(cacheDirectory, true), new HostRateLimiters(1000, 10, 3, 60));
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(content);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,75 @@
+package edition.academy.seventh.service.scrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares extraction of Empik's product tiles with {@link ProductSelectors} against separate
+ * {@link Element#getElementsByClass(String)} lookup per field, used previously by scrappers. Tiles
+ * come from saved listing page with 30 products.
+ *
+ * <p>Run with {@code main} method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProductExtractionBenchmark {
+
+  private Elements tiles;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ProductExtractionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup
+  public void loadTiles() throws IOException {
+    tiles = ProductSelectorsTest.loadEmpikTiles();
+  }
+
+  @Benchmark
+  public List<String[]> classLookups() {
+    List<String[]> products = new ArrayList<>(tiles.size());
+    for (Element tile : tiles) {
+      products.add(
+          new String[] {
+            tile.getElementsByClass("ta-product-title").text(),
+            tile.getElementsByClass("seoTitle").attr("href"),
+            tile.getElementsByClass("lazy").attr("lazy-img"),
+            tile.getElementsByClass("smartAuthor").text(),
+            tile.getElementsByClass("ta-price-tile").text()
+          });
+    }
+    return products;
+  }
+
+  @Benchmark
+  public List<ProductSelectors.Product> compiledSelectors() {
+    List<ProductSelectors.Product> products = new ArrayList<>(tiles.size());
+    for (Element tile : tiles) {
+      products.add(ProductSelectorsTest.EMPIK_SELECTORS.extract(tile));
+    }
+    return products;
+  }
+}
@@ -0,0 +1,95 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.testng.annotations.Test;
+
+@Test
+public class ProductSelectorsTest {
+
+  static final ProductSelectors EMPIK_SELECTORS =
+      DefinedScrapper.compileSelectors(
+          new ScrapperDefinitionLoader("").load().get("empik").getFields());
+
+  static Elements loadEmpikTiles() throws IOException {
+    try (InputStream page =
+        ProductSelectorsTest.class.getResourceAsStream("/scrapper/empik-promotions.html")) {
+      return Jsoup.parse(page, "UTF-8", "https://www.empik.com/")
+          .getElementsByClass("productWrapper");
+    }
+  }
+
+  public void should_extractSameValuesAsClassLookups_when_mappingEmpikTiles() throws IOException {
+    // Given
+    Elements tiles = loadEmpikTiles();
+
+    for (Element tile : tiles) {
+      // When
+      ProductSelectors.Product product = EMPIK_SELECTORS.extract(tile);
+
+      // Then
+      assertEquals(product.get("title"), tile.getElementsByClass("ta-product-title").text());
+      assertEquals(product.get("href"), tile.getElementsByClass("seoTitle").attr("href"));
+      assertEquals(product.get("imageLink"), tile.getElementsByClass("lazy").attr("lazy-img"));
+      assertEquals(product.get("author"), tile.getElementsByClass("smartAuthor").text());
+      assertEquals(product.get("retailPrice"), tile.getElementsByClass("ta-price-tile").text());
+    }
+    assertEquals(tiles.size(), 30);
+  }
+
+  public void should_matchWholeClassAttribute_when_selectorContainsSpaces() {
+    // Given
+    Element tile =
+        Jsoup.parse(
+                "<div class=\"tile\"><span class=\"product name\">Wrong</span>"
+                    + "<span class=\"product name item\">Also wrong</span>"
+                    + "<span class=\"product name item-name\">Title</span></div>")
+            .getElementsByClass("tile")
+            .first();
+    ProductSelectors selectors =
+        ProductSelectors.builder().text("title", "[class=product name item-name]").build();
+
+    // When
+    String title = selectors.extract(tile).get("title");
+
+    // Then
+    assertEquals(title, "Title");
+  }
+
+  public void should_returnFirstAndJoinedTexts_when_manyElementsMatch() {
+    // Given
+    Element tile =
+        Jsoup.parse(
+                "<div class=\"tile\"><p class=\"author\"><a>First</a> <a>Second</a></p></div>")
+            .getElementsByClass("tile")
+            .first();
+    ProductSelectors selectors =
+        ProductSelectors.builder()
+            .firstText("firstAuthor", ".author a")
+            .text("authors", ".author a")
+            .attribute("missing", ".author", "href")
+            .build();
+
+    // When
+    ProductSelectors.Product product = selectors.extract(tile);
+
+    // Then
+    assertEquals(product.get("firstAuthor"), "First");
+    assertEquals(product.get("authors"), "First Second");
+    assertEquals(product.get("missing"), "");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void should_throwException_when_fieldWasNotDeclared() {
+    // Given
+    ProductSelectors selectors = ProductSelectors.builder().text("title", ".title").build();
+
+    // When
+    selectors.extract(new Element("div")).get("author");
+  }
+}
@@ -0,0 +1,67 @@
+package edition.academy.seventh.service.scrapper;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.Test;
+
+@Test
+public class ScrapperDefinitionLoaderTest {
+
+  private static final String DEFINITION =
+      "{\"bookstoreName\": \"%s\", \"urlTemplate\": \"%s\", \"productClass\": \"product\","
+          + " \"pages\": {\"first\": 1},"
+          + " \"fields\": {\"title\": {\"selector\": \".title\"},"
+          + " \"author\": {\"selector\": \".author\"},"
+          + " \"href\": {\"selector\": \"a\", \"attribute\": \"href\"},"
+          + " \"imageLink\": {\"selector\": \"img\", \"attribute\": \"src\"},"
+          + " \"retailPrice\": {\"selector\": \".old\"},"
+          + " \"promotionalPrice\": {\"selector\": \".new\"}}}";
+
+  public void should_loadEveryBookstore_when_readingClasspathDefinitions() {
+    // When
+    Map<String, ScrapperDefinition> definitions = new ScrapperDefinitionLoader("").load();
+
+    // Then
+    assertEquals(
+        definitions.keySet(),
+        Set.of("bookoff", "empik", "pwn", "ravelo", "swiatKsiazki", "taniaKsiazka"));
+  }
+
+  public void should_replaceAndAddDefinitions_when_externalDirectoryIsGiven() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("scrappers");
+    write(directory.resolve("empik.json"), "EMPIK 2", "https://empik.com/?p={page}");
+    write(directory.resolve("newBookstore.json"), "New", "https://new.pl/{page}");
+
+    // When
+    Map<String, ScrapperDefinition> definitions =
+        new ScrapperDefinitionLoader(directory.toString()).load();
+
+    // Then
+    assertEquals(definitions.get("empik").getBookstoreName(), "EMPIK 2");
+    assertEquals(definitions.get("newBookstore").getPages().getLast(), null);
+    assertEquals(definitions.size(), 7);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void should_throwException_when_urlTemplateHasNoPagePlaceholder() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("scrappers");
+    write(directory.resolve("invalid.json"), "Invalid", "https://invalid.pl/");
+
+    // When
+    new ScrapperDefinitionLoader(directory.toString()).load();
+  }
+
+  private static void write(Path file, String bookstoreName, String urlTemplate)
+      throws IOException {
+    Files.writeString(
+        file, String.format(DEFINITION, bookstoreName, urlTemplate), StandardCharsets.UTF_8);
+  }
+}